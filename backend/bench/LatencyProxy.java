@@ -0,0 +1,97 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// TCP proxy that adds a fixed round-trip time between the application and a local mongod, so a
+// benchmark against a local database sees remote-cluster latency. Each direction delays every
+// chunk by half the round trip without limiting throughput: chunks are timestamped on read and
+// written once due, so several in-flight round trips on one connection overlap.
+//
+// Usage: java LatencyProxy.java <listen-port> <target-host> <target-port> <rtt-ms>
+public class LatencyProxy {
+
+    private record Chunk(byte[] data, long dueNanos) {
+    }
+
+    private static final Chunk END = new Chunk(new byte[0], 0);
+
+    public static void main(String[] args) throws IOException {
+        int listenPort = Integer.parseInt(args[0]);
+        String targetHost = args[1];
+        int targetPort = Integer.parseInt(args[2]);
+        long halfRttNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(args[3])) / 2;
+        try (ServerSocket server = new ServerSocket()) {
+            server.bind(new InetSocketAddress("127.0.0.1", listenPort));
+            System.out.printf("Proxying 127.0.0.1:%d -> %s:%d with %s ms RTT%n", listenPort, targetHost, targetPort, args[3]);
+            while (true) {
+                Socket client = server.accept();
+                Thread.ofVirtual().start(() -> connect(client, targetHost, targetPort, halfRttNanos));
+            }
+        }
+    }
+
+    private static void connect(Socket client, String targetHost, int targetPort, long delayNanos) {
+        try {
+            Socket upstream = new Socket(targetHost, targetPort);
+            client.setTcpNoDelay(true);
+            upstream.setTcpNoDelay(true);
+            pipe(client, upstream, delayNanos);
+            pipe(upstream, client, delayNanos);
+        } catch (IOException e) {
+            close(client);
+        }
+    }
+
+    private static void pipe(Socket from, Socket to, long delayNanos) throws IOException {
+        InputStream in = from.getInputStream();
+        OutputStream out = to.getOutputStream();
+        BlockingQueue<Chunk> queue = new LinkedBlockingQueue<>();
+        Thread.ofVirtual().start(() -> {
+            byte[] buffer = new byte[64 * 1024];
+            try {
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    queue.put(new Chunk(Arrays.copyOf(buffer, read), System.nanoTime() + delayNanos));
+                }
+            } catch (IOException | InterruptedException ignored) {
+                // connection closed
+            }
+            queue.add(END);
+        });
+        Thread.ofVirtual().start(() -> {
+            try {
+                while (true) {
+                    Chunk chunk = queue.take();
+                    if (chunk == END) {
+                        break;
+                    }
+                    long wait = chunk.dueNanos() - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                    out.write(chunk.data());
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException ignored) {
+                // connection closed
+            }
+            close(from);
+            close(to);
+        });
+    }
+
+    private static void close(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // already closed
+        }
+    }
+}
@@ -0,0 +1,170 @@
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Closed-loop load generator for the recipe read endpoints.
+//
+//   java LoadBenchmark.java seed <base-url> <recipes>
+//       Bulk-imports synthetic recipes until the catalog has at least <recipes> of them.
+//   java LoadBenchmark.java run <base-url> <label> <concurrency> <warmup-s> <duration-s>
+//       <concurrency> clients each send one request at a time for <warmup-s> + <duration-s>
+//       seconds; only the measured part is reported. The mix is 50% recipe pages (random sort),
+//       25% facet pages (random category, always an aggregation) and 25% recipes by id.
+public class LoadBenchmark {
+
+    private static final String[] SORTS = {"newest", "most_liked", "quickest"};
+    private static final String[] CATEGORIES = {"Breakfast", "Lunch", "Dinner", "Dessert", "Snack", "Vegan", "Baking", "Soup"};
+    private static final String[] DIFFICULTIES = {"Easy", "Medium", "Hard"};
+    private static final Pattern ID = Pattern.compile("^\\{\"id\":\"([0-9a-f]{24})\"");
+
+    public static void main(String[] args) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        switch (args[0]) {
+            case "seed" -> seed(client, args[1], Integer.parseInt(args[2]));
+            case "run" -> run(client, args[1], args[2], Integer.parseInt(args[3]), Integer.parseInt(args[4]), Integer.parseInt(args[5]));
+            default -> throw new IllegalArgumentException("Unknown command " + args[0]);
+        }
+    }
+
+    private static void seed(HttpClient client, String baseUrl, int recipes) throws Exception {
+        int existing = recipeIds(client, baseUrl).size();
+        int missing = recipes - existing;
+        if (missing <= 0) {
+            System.out.printf("Catalog already has %d recipes%n", existing);
+            return;
+        }
+        String body = IntStream.range(existing, recipes).mapToObj(LoadBenchmark::recipeJson).collect(Collectors.joining("\n"));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/recipes/bulk"))
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed: " + response.statusCode() + " " + response.body());
+        }
+        System.out.printf("Seeded %d recipes%n", missing);
+    }
+
+    private static String recipeJson(int i) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String ingredients = IntStream.range(0, 3 + random.nextInt(8))
+                .mapToObj(n -> "{\"name\":\"ingredient " + random.nextInt(200) + "\",\"amount\":\"" + (1 + random.nextInt(5)) + "\",\"unit\":\"g\"}")
+                .collect(Collectors.joining(","));
+        String steps = IntStream.range(0, 2 + random.nextInt(6))
+                .mapToObj(n -> "{\"description\":\"Step " + n + " of recipe " + i + ", stir and wait until done.\"}")
+                .collect(Collectors.joining(","));
+        return "{\"title\":\"Benchmark recipe " + i + "\",\"description\":\"Synthetic recipe used by the load benchmark.\","
+                + "\"ingredients\":[" + ingredients + "],\"steps\":[" + steps + "],"
+                + "\"preparationTime\":" + (5 + random.nextInt(40)) + ",\"cookingTime\":" + random.nextInt(120) + ","
+                + "\"servings\":" + (1 + random.nextInt(6)) + ",\"difficulty\":\"" + DIFFICULTIES[random.nextInt(DIFFICULTIES.length)] + "\","
+                + "\"categories\":[\"" + CATEGORIES[random.nextInt(CATEGORIES.length)] + "\"],\"tags\":[\"tag" + random.nextInt(30) + "\"],"
+                + "\"imageUrls\":[],\"author\":{\"id\":\"bench-author-" + random.nextInt(100) + "\",\"name\":\"Bench Author\"}}";
+    }
+
+    private static List<String> recipeIds(HttpClient client, String baseUrl) throws Exception {
+        HttpResponse<InputStream> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/export/recipes")).build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        List<String> ids = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = ID.matcher(line);
+                if (matcher.find()) {
+                    ids.add(matcher.group(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void run(HttpClient client, String baseUrl, String label, int concurrency,
+                            int warmupSeconds, int durationSeconds) throws Exception {
+        List<String> ids = recipeIds(client, baseUrl);
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No recipes to read; run seed first");
+        }
+        long measureFrom = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+        LongAdder errors = new LongAdder();
+        long[][] latencies = new long[concurrency][];
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            int worker = i;
+            workers.add(Thread.ofVirtual().start(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                long start;
+                while ((start = System.nanoTime()) < end) {
+                    boolean ok;
+                    try {
+                        ok = client.send(nextRequest(baseUrl, ids), HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    long finished = System.nanoTime();
+                    if (start < measureFrom) {
+                        continue;
+                    }
+                    if (!ok) {
+                        errors.increment();
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = finished - start;
+                }
+                latencies[worker] = Arrays.copyOf(samples, count);
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        double throughput = all.length / (double) durationSeconds;
+        System.out.printf("%-10s concurrency=%d requests=%d throughput=%.0f req/s p50=%.1f ms p99=%.1f ms max=%.1f ms errors=%d%n",
+                label, concurrency, all.length, throughput, percentile(all, 50), percentile(all, 99),
+                all.length > 0 ? all[all.length - 1] / 1e6 : 0, errors.sum());
+    }
+
+    private static HttpRequest nextRequest(String baseUrl, List<String> ids) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(4);
+        String path;
+        if (pick < 2) {
+            path = "/api/recipes?view=card&limit=20&sort=" + SORTS[random.nextInt(SORTS.length)];
+        } else if (pick == 2) {
+            path = "/api/recipes/facets?limit=20&category=" + CATEGORIES[random.nextInt(CATEGORIES.length)];
+        } else {
+            path = "/api/recipes/" + ids.get(random.nextInt(ids.size()));
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).build();
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,98 @@
+#!/usr/bin/env bash
+# Load benchmark of the recipe read endpoints with platform threads and with virtual threads.
+#
+# Both runs use the same packaged application, the same data and the same client load. The
+# application talks to a local mongod through LatencyProxy, which adds RTT_MS of round-trip time so
+# that database calls block the way they do against a remote cluster. Prints throughput and
+# latency percentiles per mode, and the number of virtual-thread pinning events in virtual mode.
+#
+#   bench/load-benchmark.sh                       # starts mongo:7 in Docker
+#   MONGO_ADDR=localhost:27017 bench/load-benchmark.sh   # uses a running mongod
+#   STORAGE=in-memory bench/load-benchmark.sh     # no database: the in-memory profile, no RTT
+#
+# Needs Java 21 on the PATH (the bench programs run as single-file sources) and Maven (MVN).
+# Tunables (environment): RTT_MS=20 CONCURRENCY=400 WARMUP=10 DURATION=30 RECIPES=2000
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RTT_MS=${RTT_MS:-20}
+CONCURRENCY=${CONCURRENCY:-400}
+WARMUP=${WARMUP:-10}
+DURATION=${DURATION:-30}
+RECIPES=${RECIPES:-2000}
+APP_PORT=${APP_PORT:-8091}
+PROXY_PORT=${PROXY_PORT:-27018}
+OUT=target/load-benchmark
+mkdir -p "$OUT"
+
+pids=()
+container=""
+cleanup() {
+    for pid in "${pids[@]}"; do kill "$pid" 2>/dev/null || true; done
+    if [ -n "$container" ]; then docker rm -f "$container" >/dev/null 2>&1 || true; fi
+}
+trap cleanup EXIT
+
+STORAGE=${STORAGE:-mongo}
+if [ "$STORAGE" = mongo ] && [ -z "${MONGO_ADDR:-}" ]; then
+    container=$(docker run -d --rm -p 127.0.0.1::27017 mongo:7)
+    MONGO_ADDR="127.0.0.1:$(docker port "$container" 27017 | head -1 | cut -d: -f2)"
+    sleep 3
+fi
+
+# The in-memory storage server is only packaged into the executable jar by the in-memory Maven profile
+mvn_profile=()
+if [ "$STORAGE" = in-memory ]; then
+    mvn_profile=(-Pin-memory)
+fi
+${MVN:-mvn} -B -q -DskipTests "${mvn_profile[@]}" package
+jar=$(ls target/backend-*-exec.jar | head -1)
+
+if [ "$STORAGE" = mongo ]; then
+    java bench/LatencyProxy.java "$PROXY_PORT" "${MONGO_ADDR%:*}" "${MONGO_ADDR##*:}" "$RTT_MS" > "$OUT/proxy.log" 2>&1 &
+    pids+=($!)
+    storage_args=(--spring.data.mongodb.uri="mongodb://127.0.0.1:$PROXY_PORT/?directConnection=true")
+else
+    RTT_MS=0
+    storage_args=()
+fi
+
+start_app() {
+    local profile=$1
+    local profiles=$profile
+    if [ "$STORAGE" = in-memory ]; then
+        profiles="$profile,in-memory"
+    fi
+    java -Djdk.tracePinnedThreads=short -jar "$jar" \
+        --server.port="$APP_PORT" \
+        --spring.profiles.active="$profiles" \
+        "${storage_args[@]}" \
+        --spring.data.mongodb.database=recipeapp_bench \
+        --logging.level.com.skillsynclab.backend=WARN \
+        --logging.level.org.mongodb.driver=WARN \
+        > "$OUT/app-$profile.log" 2>&1 &
+    app=$!
+    pids+=($app)
+    for _ in $(seq 1 60); do
+        curl -sf "http://localhost:$APP_PORT/actuator/health" >/dev/null && return
+        sleep 1
+    done
+    echo "Application did not start, see $OUT/app-$profile.log" >&2
+    exit 1
+}
+
+results=()
+for mode in platform virtual; do
+    profile=$([ "$mode" = virtual ] && echo virtual-threads || echo default)
+    start_app "$profile"
+    java bench/LoadBenchmark.java seed "http://localhost:$APP_PORT" "$RECIPES"
+    results+=("$(java bench/LoadBenchmark.java run "http://localhost:$APP_PORT" "$mode" "$CONCURRENCY" "$WARMUP" "$DURATION")")
+    pinned=$(grep -c "<== monitors" "$OUT/app-$profile.log" || true)
+    results[-1]+=" pinned=$pinned"
+    kill "$app"
+    wait "$app" 2>/dev/null || true
+done
+
+echo
+echo "RTT ${RTT_MS} ms, ${RECIPES} recipes, ${CONCURRENCY} clients, ${DURATION} s measured after ${WARMUP} s warm-up"
+printf '%s\n' "${results[@]}" | tee "$OUT/results.txt"
@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Builds the backend and the JMH benchmarks, runs them and keeps the results as JSON, so that runs
+# can be compared to catch regressions.
+#
+#   benchmarks/run.sh                                   # all benchmarks
+#   benchmarks/run.sh Jackson -p shape=LARGE            # any JMH options (here: a subset)
+#   BASELINE=path/to/earlier.json benchmarks/run.sh   # and compare with a run
+#
+# Results go to benchmarks/target/jmh/<timestamp>.json. With BASELINE set, the run is compared with
+# it (THRESHOLD, default 0.10) and the script exits with status 1 if a benchmark regressed.
+# Runs -prof gc as well, so allocation per operation (gc.alloc.rate.norm) is in the results.
+# Needs Java 21 and Maven (MVN). Compare runs made on the same machine with the same JDK.
+set -euo pipefail
+baseline=${BASELINE:+$(realpath "$BASELINE")}
+cd "$(dirname "$0")"
+
+${MVN:-mvn} -B -q -f ../pom.xml -DskipTests install
+${MVN:-mvn} -B -q package
+
+mkdir -p target/jmh
+out="target/jmh/$(date +%Y%m%d-%H%M%S).json"
+java -jar target/benchmarks.jar -rf json -rff "$out" -prof gc "$@"
+echo "Results: benchmarks/$out"
+
+if [ -n "$baseline" ]; then
+    java -cp target/benchmarks.jar com.skillsynclab.backend.benchmarks.CompareResults \
+        "$baseline" "$out" "${THRESHOLD:-0.10}"
+fi
@@ -0,0 +1,70 @@
+package com.skillsynclab.backend.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Compares two JMH JSON result files (-rf json) benchmark by benchmark:
+//   java -cp target/benchmarks.jar com.skillsynclab.backend.benchmarks.CompareResults baseline.json current.json [threshold]
+// A benchmark regressed when its score got worse by more than threshold (default 0.10, i.e. 10%)
+// and by more than the two error margins together, so run-to-run noise is not reported. Exits with
+// status 1 if anything regressed. Scores are times per operation: lower is better.
+public class CompareResults {
+
+    private record Score(double value, double error, String unit) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <current.json> [threshold]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-64s %14s %14s %-6s %9s%n", "Benchmark", "Baseline", "Current", "Unit", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null || !before.unit().equals(now.unit())) {
+                System.out.printf("%-64s %14s %14.3f %-6s %9s%n", entry.getKey(), "-", now.value(), now.unit(), "new");
+                continue;
+            }
+            double change = (now.value() - before.value()) / before.value();
+            boolean regressed = change > threshold && now.value() - before.value() > now.error() + before.error();
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-64s %14.3f %14.3f %-6s %+8.1f%%%s%n", entry.getKey(), before.value(), now.value(),
+                    now.unit(), change * 100, regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d of %d benchmarks regressed by more than %.0f%%%n", regressions, current.size(), threshold * 100);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    // Benchmark name plus its parameters, e.g. "JacksonBenchmark.serialize shape=LARGE"
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.skillsynclab.backend.benchmarks.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            JsonNode metric = result.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,66 @@
+package com.skillsynclab.backend.benchmarks;
+
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Validation of path ids. The services check every id with id.matches("^[0-9a-fA-F]{24}$"), which
+// compiles the pattern on each call; the alternatives are a precompiled Pattern and ObjectId.isValid.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class IdValidationBenchmark {
+
+    private static final Pattern OBJECT_ID = Pattern.compile("^[0-9a-fA-F]{24}$");
+
+    // Malformed ids are rejected early by every check, so they are measured separately
+    @Param({"true", "false"})
+    private boolean valid;
+
+    private final String[] ids = new String[64];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < ids.length; i++) {
+            String id = RecipeFixtures.objectId(random);
+            ids[i] = valid ? id : id.substring(0, 20) + "xyz!";
+        }
+    }
+
+    private String nextId() {
+        return ids[next++ & (ids.length - 1)];
+    }
+
+    @Benchmark
+    public boolean stringMatches() {
+        return nextId().matches("^[0-9a-fA-F]{24}$");
+    }
+
+    @Benchmark
+    public boolean precompiledPattern() {
+        return OBJECT_ID.matcher(nextId()).matches();
+    }
+
+    @Benchmark
+    public boolean objectIdIsValid() {
+        return ObjectId.isValid(nextId());
+    }
+}
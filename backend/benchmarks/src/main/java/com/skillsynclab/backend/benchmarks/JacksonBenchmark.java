@@ -0,0 +1,57 @@
+package com.skillsynclab.backend.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.service.RecipeNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// The JSON round trip of a stored recipe: writing it into a response, and reading it from a
+// request body (Author, Ingredient and Step go through their @JsonCreator constructors). The
+// mapper is built the way Spring MVC builds its own.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JacksonBenchmark {
+
+    @Param({"SMALL", "LARGE", "WITH_IMAGES"})
+    private RecipeFixtures.Shape shape;
+
+    private ObjectMapper objectMapper;
+    private Recipe recipe;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        recipe = RecipeFixtures.newRecipe(shape, 42);
+        new RecipeNormalizer().normalize(recipe);
+        json = objectMapper.writeValueAsBytes(recipe);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(recipe);
+    }
+
+    @Benchmark
+    public Recipe deserialize() throws IOException {
+        return objectMapper.readValue(json, Recipe.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.skillsynclab.backend.benchmarks;
+
+import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.service.RecipeNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// RecipeNormalizer.normalize, which every created, updated and imported recipe goes through.
+// Normalizing mutates the recipe, so each invocation works on a fresh copy; copyOnly measures that
+// copy alone and is the baseline to subtract.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NormalizeBenchmark {
+
+    @Param({"SMALL", "LARGE", "WITH_IMAGES"})
+    private RecipeFixtures.Shape shape;
+
+    private final RecipeNormalizer normalizer = new RecipeNormalizer();
+    private Recipe template;
+
+    @Setup
+    public void setUp() {
+        template = RecipeFixtures.newRecipe(shape, 42);
+    }
+
+    @Benchmark
+    public Recipe copyOnly() {
+        return RecipeFixtures.copy(template);
+    }
+
+    @Benchmark
+    public Recipe normalize() {
+        Recipe recipe = RecipeFixtures.copy(template);
+        normalizer.normalize(recipe);
+        return recipe;
+    }
+}
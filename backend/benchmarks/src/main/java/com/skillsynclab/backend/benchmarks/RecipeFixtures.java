@@ -0,0 +1,148 @@
+package com.skillsynclab.backend.benchmarks;
+
+import com.skillsynclab.backend.model.Author;
+import com.skillsynclab.backend.model.Ingredient;
+import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.model.Step;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+// Synthetic recipes for the benchmarks. Generation is seeded, so every run (and every fork)
+// measures exactly the same documents, which is what makes results comparable between runs.
+public final class RecipeFixtures {
+
+    // The recipe shapes the benchmarks are parameterized with
+    public enum Shape {
+        // A typical card: a few ingredients and steps, short texts
+        SMALL(4, 3, 200, 0),
+        // A long recipe: many ingredients and steps, long description
+        LARGE(40, 30, 4000, 0),
+        // Legacy documents that embed their images as data: URLs instead of /api/media links
+        WITH_IMAGES(8, 6, 600, 3);
+
+        final int ingredients;
+        final int steps;
+        final int descriptionLength;
+        final int embeddedImages;
+
+        Shape(int ingredients, int steps, int descriptionLength, int embeddedImages) {
+            this.ingredients = ingredients;
+            this.steps = steps;
+            this.descriptionLength = descriptionLength;
+            this.embeddedImages = embeddedImages;
+        }
+    }
+
+    private static final String[] WORDS = {"slowly", "stir", "the", "onions", "until", "golden", "add",
+            "garlic", "and", "simmer", "for", "minutes", "season", "with", "salt", "pepper", "fresh", "basil"};
+    private static final String[] UNITS = {"g", "ml", "cups", "tbsp", "tsp", "pcs"};
+    private static final int EMBEDDED_IMAGE_BYTES = 48 * 1024;
+
+    private RecipeFixtures() {
+    }
+
+    // A new, not yet normalized recipe as a client would post it (no ids, no derived fields)
+    public static Recipe newRecipe(Shape shape, long seed) {
+        Random random = new Random(seed);
+        Recipe recipe = new Recipe();
+        recipe.setTitle(text(random, 40));
+        recipe.setDescription(text(random, shape.descriptionLength));
+        List<String> images = new ArrayList<>();
+        for (int i = 0; i < shape.embeddedImages; i++) {
+            images.add(embeddedImage(random));
+        }
+        if (shape.embeddedImages == 0) {
+            images.add("/api/media/" + objectId(random));
+        }
+        recipe.setImageUrls(images);
+        recipe.setPreparationTime(5 + random.nextInt(60));
+        recipe.setCookingTime(5 + random.nextInt(120));
+        recipe.setServings(1 + random.nextInt(8));
+        recipe.setDifficulty(random.nextBoolean() ? "Easy" : "Medium");
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (int i = 0; i < shape.ingredients; i++) {
+            ingredients.add(new Ingredient(null, text(random, 16), Integer.toString(1 + random.nextInt(500)),
+                    UNITS[random.nextInt(UNITS.length)]));
+        }
+        recipe.setIngredients(ingredients);
+        List<Step> steps = new ArrayList<>();
+        for (int i = 0; i < shape.steps; i++) {
+            steps.add(new Step(null, i + 1, text(random, 160),
+                    shape.embeddedImages > 0 && i == 0 ? embeddedImage(random) : null));
+        }
+        recipe.setSteps(steps);
+        recipe.setCategories(new ArrayList<>(List.of("dinner", "italian")));
+        recipe.setTags(new ArrayList<>(List.of("quick", "vegetarian", "family")));
+        String authorId = objectId(random);
+        recipe.setAuthor(new Author(authorId, "cook" + random.nextInt(1000), "Home Cook", text(random, 80),
+                "/api/media/" + objectId(random), null, null, null, null));
+        return recipe;
+    }
+
+    // A copy that shares only immutable values (strings), so normalizing it leaves the original intact
+    public static Recipe copy(Recipe source) {
+        Recipe recipe = new Recipe();
+        recipe.setId(source.getId());
+        recipe.setTitle(source.getTitle());
+        recipe.setDescription(source.getDescription());
+        recipe.setImageUrls(source.getImageUrls() != null ? new ArrayList<>(source.getImageUrls()) : null);
+        recipe.setVideoUrl(source.getVideoUrl());
+        recipe.setPreparationTime(source.getPreparationTime());
+        recipe.setCookingTime(source.getCookingTime());
+        recipe.setServings(source.getServings());
+        recipe.setDifficulty(source.getDifficulty());
+        if (source.getIngredients() != null) {
+            List<Ingredient> ingredients = new ArrayList<>(source.getIngredients().size());
+            for (Ingredient ingredient : source.getIngredients()) {
+                ingredients.add(new Ingredient(ingredient.getId(), ingredient.getName(), ingredient.getQuantity(), ingredient.getUnit()));
+            }
+            recipe.setIngredients(ingredients);
+        }
+        if (source.getSteps() != null) {
+            List<Step> steps = new ArrayList<>(source.getSteps().size());
+            for (Step step : source.getSteps()) {
+                steps.add(new Step(step.getId(), step.getOrder(), step.getInstruction(), step.getImageUrl()));
+            }
+            recipe.setSteps(steps);
+        }
+        recipe.setCategories(source.getCategories() != null ? new ArrayList<>(source.getCategories()) : null);
+        recipe.setTags(source.getTags() != null ? new ArrayList<>(source.getTags()) : null);
+        Author author = source.getAuthor();
+        if (author != null) {
+            recipe.setAuthor(new Author(author.getId(), author.getUsername(), author.getName(), author.getBio(),
+                    author.getProfileImageUrl(), author.getFollowers(), author.getFollowing(), author.getRecipes(),
+                    author.getLearningPlans()));
+        }
+        return recipe;
+    }
+
+    // Random 24-character hex ids, like the ones clients send in paths
+    public static String objectId(Random random) {
+        StringBuilder id = new StringBuilder(24);
+        for (int i = 0; i < 24; i++) {
+            id.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return id.toString();
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            if (!text.isEmpty()) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+
+    private static String embeddedImage(Random random) {
+        byte[] bytes = new byte[EMBEDDED_IMAGE_BYTES];
+        random.nextBytes(bytes);
+        return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,51 @@
+package com.skillsynclab.backend.benchmarks;
+
+import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.service.RecipeNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.util.concurrent.TimeUnit;
+
+// Recipe.toString(), which debug logging of whole recipes pays on every call while DEBUG is on for
+// com.skillsynclab.backend. formatDebugMessage is what an enabled logger.debug("Attempting to create recipe: {}", recipe)
+// does before handing the message to an appender.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ToStringBenchmark {
+
+    @Param({"SMALL", "LARGE", "WITH_IMAGES"})
+    private RecipeFixtures.Shape shape;
+
+    private Recipe recipe;
+
+    @Setup
+    public void setUp() {
+        recipe = RecipeFixtures.newRecipe(shape, 42);
+        new RecipeNormalizer().normalize(recipe);
+    }
+
+    @Benchmark
+    public String recipeToString() {
+        return recipe.toString();
+    }
+
+    @Benchmark
+    public String formatDebugMessage() {
+        return MessageFormatter.format("Attempting to create recipe: {}", recipe).getMessage();
+    }
+}
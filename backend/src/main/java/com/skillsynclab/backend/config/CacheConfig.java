@@ -0,0 +1,48 @@
+package com.skillsynclab.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsynclab.backend.model.Author;
+import com.skillsynclab.backend.model.Discussion;
+import com.skillsynclab.backend.model.LearningPlan;
+import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.service.DocumentCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Read-through caches for single-document lookups by id. Sizes are in approximate JSON bytes;
+// the expiry only bounds staleness from writes made by other application instances.
+@Configuration
+public class CacheConfig {
+
+    @Value("${app.cache.expire-after-write:10m}")
+    private Duration expireAfterWrite;
+
+    @Bean
+    public DocumentCache<Recipe> recipeCache(@Value("${app.cache.recipes.max-bytes:33554432}") long maxBytes,
+                                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new DocumentCache<>("recipes", maxBytes, expireAfterWrite, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public DocumentCache<Discussion> discussionCache(@Value("${app.cache.discussions.max-bytes:16777216}") long maxBytes,
+                                                     ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new DocumentCache<>("discussions", maxBytes, expireAfterWrite, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public DocumentCache<LearningPlan> learningPlanCache(@Value("${app.cache.learning-plans.max-bytes:8388608}") long maxBytes,
+                                                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new DocumentCache<>("learning-plans", maxBytes, expireAfterWrite, objectMapper, meterRegistry);
+    }
+
+    // Profiles are small and shared by every page that lists an author's content
+    @Bean
+    public DocumentCache<Author> authorCache(@Value("${app.cache.authors.max-bytes:2097152}") long maxBytes,
+                                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new DocumentCache<>("authors", maxBytes, expireAfterWrite, objectMapper, meterRegistry);
+    }
+}
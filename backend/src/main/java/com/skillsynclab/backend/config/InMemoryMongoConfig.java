@@ -0,0 +1,49 @@
+package com.skillsynclab.backend.config;
+
+import com.mongodb.ConnectionString;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.mongo.MongoConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.net.InetSocketAddress;
+
+// Storage for the in-memory profile (--spring.profiles.active=in-memory): an in-process server that
+// speaks the MongoDB wire protocol and keeps every collection in memory, bound to a free loopback
+// port. The application connects to it instead of spring.data.mongodb.uri, so the repositories and
+// every MongoTemplate query run unchanged, with no database and no network. Data is lost on exit.
+// For profiling and load tests of the application itself: it has no text index (search falls back
+// to a regex scan, see app.search.text-index) and queries scan their collection, so latencies say
+// nothing about MongoDB.
+// The server is an optional dependency that only jars built with -Pin-memory contain; without it the
+// profile fails at startup (InMemoryMongoUnavailable) rather than falling back to the real database.
+@Configuration
+@Profile("in-memory")
+@ConditionalOnClass(name = "de.bwaldvogel.mongo.MongoServer")
+public class InMemoryMongoConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryMongoConfig.class);
+
+    @Bean(destroyMethod = "shutdownNow")
+    public MongoServer inMemoryMongoServer() {
+        MongoServer server = new MongoServer(new MemoryBackend());
+        server.bind("127.0.0.1", 0);
+        logger.info("Using in-memory storage at {}; data is not persisted", server.getLocalAddress());
+        return server;
+    }
+
+    @Bean
+    public MongoConnectionDetails inMemoryMongoConnectionDetails(MongoServer inMemoryMongoServer,
+                                                                @Value("${spring.data.mongodb.database:recipeapp}") String database) {
+        InetSocketAddress address = inMemoryMongoServer.getLocalAddress();
+        ConnectionString connectionString = new ConnectionString(
+                "mongodb://" + address.getHostString() + ":" + address.getPort() + "/" + database);
+        return () -> connectionString;
+    }
+}
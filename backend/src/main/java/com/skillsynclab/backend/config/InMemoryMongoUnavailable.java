@@ -0,0 +1,18 @@
+package com.skillsynclab.backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// The in-memory profile on a build without the in-memory server (the default executable jar):
+// refuse to start instead of silently connecting to spring.data.mongodb.uri.
+@Configuration
+@Profile("in-memory")
+@ConditionalOnMissingClass("de.bwaldvogel.mongo.MongoServer")
+class InMemoryMongoUnavailable {
+
+    InMemoryMongoUnavailable() {
+        throw new IllegalStateException(
+                "The in-memory profile needs mongo-java-server on the classpath; build the jar with -Pin-memory");
+    }
+}
@@ -0,0 +1,56 @@
+package com.skillsynclab.backend.config;
+
+import com.skillsynclab.backend.service.CollectionVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// MongoDB driver settings: the connection pool, command metrics and write tracking.
+// Every request holds a connection for the duration of each round trip, so the pool bounds how
+// many database calls are in flight. With platform threads it is sized to the Tomcat thread pool
+// (more connections could never be used); with virtual threads there is no thread limit and the
+// pool is the only bound, so it is larger and requests that cannot get a connection within
+// app.mongo.pool.max-wait fail (503) instead of queueing without limit.
+@Configuration
+public class MongoClientConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoClientConfig.class);
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${app.mongo.pool.max-size:100}") int maxSize,
+            @Value("${app.mongo.pool.min-size:0}") int minSize,
+            @Value("${app.mongo.pool.max-connecting:2}") int maxConnecting,
+            @Value("${app.mongo.pool.max-wait:2m}") Duration maxWait,
+            @Value("${app.mongo.pool.max-idle-time:0s}") Duration maxIdleTime) {
+        logger.info("MongoDB connection pool: max-size={}, min-size={}, max-connecting={}, max-wait={}",
+                maxSize, minSize, maxConnecting, maxWait);
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnecting(maxConnecting)
+                .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnectionIdleTime(maxIdleTime.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    // Per-command, per-collection latency and reply size (see MongoCommandMetrics). Pool gauges
+    // (mongodb.driver.pool.size, .checkedout, .waitqueuesize) come from Spring Boot's pool listener.
+    @Bean
+    public MongoClientSettingsBuilderCustomizer commandMetricsCustomizer(MeterRegistry meterRegistry) {
+        MongoCommandMetrics listener = new MongoCommandMetrics(meterRegistry);
+        return builder -> builder.addCommandListener(listener);
+    }
+
+    // Counts writes per collection for the list endpoints' entity tags (see CollectionVersions)
+    @Bean
+    public MongoClientSettingsBuilderCustomizer collectionVersionsCustomizer(CollectionVersions collectionVersions) {
+        return builder -> builder.addCommandListener(collectionVersions);
+    }
+}
@@ -0,0 +1,107 @@
+package com.skillsynclab.backend.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Latency and reply size of every command the MongoDB driver sends, per command and collection:
+//   mongodb.command          timer (status=success|failure), with a percentile histogram
+//   mongodb.command.reply    reply size in bytes (successful commands)
+// The driver reports the reply as the raw bytes it received, so measuring it costs nothing; the
+// collection is taken from the command document when the command starts, and remembered by
+// request id until it completes. Replaces Spring Boot's mongodb.driver.commands timer, which has
+// no reply size (management.metrics.mongo.command.enabled=false).
+public class MongoCommandMetrics implements CommandListener {
+
+    private record Started(String command, String collection) {
+    }
+
+    private record Meters(Timer success, DistributionSummary replySize) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Integer, Started> inFlight = new ConcurrentHashMap<>();
+    private final Map<Started, Meters> meters = new ConcurrentHashMap<>();
+
+    public MongoCommandMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        inFlight.put(event.getRequestId(), new Started(event.getCommandName(), collection(event)));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Meters commandMeters = meters(event.getRequestId(), event.getCommandName());
+        commandMeters.success().record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        BsonDocument response = event.getResponse();
+        if (response instanceof RawBsonDocument raw) {
+            commandMeters.replySize().record(raw.getByteBuffer().remaining());
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        // Failures are rare, so their timer is only registered (and exported) once one happens
+        timer(started(event.getRequestId(), event.getCommandName()), "failure")
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Meters meters(int requestId, String commandName) {
+        return meters.computeIfAbsent(started(requestId, commandName), this::register);
+    }
+
+    private Started started(int requestId, String commandName) {
+        Started started = inFlight.remove(requestId);
+        return started != null ? started : new Started(commandName, "none");
+    }
+
+    private Meters register(Started key) {
+        return new Meters(timer(key, "success"),
+                DistributionSummary.builder("mongodb.command.reply")
+                        .description("Size of MongoDB command replies")
+                        .baseUnit("bytes")
+                        .tag("command", key.command())
+                        .tag("collection", key.collection())
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(64.0)
+                        .maximumExpectedValue(16.0 * 1024 * 1024)
+                        .register(meterRegistry));
+    }
+
+    private Timer timer(Started key, String status) {
+        return Timer.builder("mongodb.command")
+                .description("Latency of MongoDB commands")
+                .tag("command", key.command())
+                .tag("collection", key.collection())
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+
+    // CRUD and aggregate commands name their collection as the value of the command itself;
+    // getMore names it in a separate field. Anything else (hello, ping, endSessions) has none.
+    private static String collection(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        BsonValue value = "getMore".equals(event.getCommandName())
+                ? command.get("collection")
+                : command.get(event.getCommandName());
+        return value != null && value.isString() ? value.asString().getValue() : "none";
+    }
+}
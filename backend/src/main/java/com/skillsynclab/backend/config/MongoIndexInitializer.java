@@ -0,0 +1,62 @@
+package com.skillsynclab.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+// Creates the indexes declared on @Document classes (@CompoundIndex, @Indexed, @TextIndexed).
+// Runs once the application is ready, on a background thread, so that startup never blocks on
+// (or fails because of) the database. ensureIndex is a no-op for indexes that already exist.
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @Value("${app.mongo.ensure-indexes:true}")
+    private boolean enabled;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate, MongoMappingContext mappingContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            logger.info("Index creation disabled (app.mongo.ensure-indexes=false)");
+            return;
+        }
+        Thread thread = new Thread(this::ensureIndexes, "mongo-index-init");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            try {
+                for (IndexDefinition index : resolver.resolveIndexFor(entity.getType())) {
+                    mongoTemplate.indexOps(entity.getType()).ensureIndex(index);
+                }
+                logger.info("Ensured indexes for collection {}", entity.getCollection());
+            } catch (Exception e) {
+                logger.warn("Failed to ensure indexes for collection {}: {}", entity.getCollection(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.skillsynclab.backend.controller;
+
+import com.skillsynclab.backend.model.AuthorMigrationReport;
+import com.skillsynclab.backend.model.JobProgress;
+import com.skillsynclab.backend.model.MediaMigrationReport;
+import com.skillsynclab.backend.service.AuthorCounters;
+import com.skillsynclab.backend.service.AuthorMigrationService;
+import com.skillsynclab.backend.service.CommentService;
+import com.skillsynclab.backend.service.ContentEventPipeline;
+import com.skillsynclab.backend.service.MediaMigrationService;
+import com.skillsynclab.backend.service.RecipeBackfillService;
+import com.skillsynclab.backend.service.SimilarRecipeIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// Operational endpoints: data migrations and maintenance jobs.
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    @Autowired
+    private MediaMigrationService mediaMigrationService;
+
+    @Autowired
+    private RecipeBackfillService recipeBackfillService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private AuthorMigrationService authorMigrationService;
+
+    @Autowired
+    private ContentEventPipeline contentEventPipeline;
+
+    @Autowired
+    private AuthorCounters authorCounters;
+
+    @Autowired
+    private SimilarRecipeIndex similarRecipeIndex;
+
+    // Move embedded base64 images into the GridFS media store
+    // Endpoint: POST /api/admin/migrations/media
+    @PostMapping("/migrations/media")
+    public ResponseEntity<MediaMigrationReport> migrateMedia() {
+        logger.info("Starting media extraction migration");
+        return ResponseEntity.ok(mediaMigrationService.extractEmbeddedImages());
+    }
+
+    // Moves comments embedded in legacy discussions into the comments collection.
+    // Discussions are also migrated lazily on their first comment read or write.
+    // Endpoint: POST /api/admin/migrations/comments
+    @PostMapping("/migrations/comments")
+    public ResponseEntity<Map<String, Integer>> migrateComments() {
+        logger.info("Starting comment extraction migration");
+        return ResponseEntity.ok(Map.of("discussionsMigrated", commentService.migrateAllComments()));
+    }
+
+    // Moves the author copies embedded in content documents into the authors collection,
+    // one profile per author, leaving an authorId in each document
+    // Endpoint: POST /api/admin/migrations/authors
+    @PostMapping("/migrations/authors")
+    public ResponseEntity<AuthorMigrationReport> migrateAuthors() {
+        logger.info("Starting author deduplication migration");
+        return ResponseEntity.ok(authorMigrationService.migrateEmbeddedAuthors());
+    }
+
+    // Queue depth and delivery counts of the post-write event pipeline
+    // Endpoint: GET /api/admin/events
+    @GetMapping("/events")
+    public ResponseEntity<Map<String, Object>> getContentEventStats() {
+        return ResponseEntity.ok(contentEventPipeline.getStats());
+    }
+
+    // Re-deliver event batches that a listener failed on
+    // Endpoint: POST /api/admin/events/replay
+    @PostMapping("/events/replay")
+    public ResponseEntity<Map<String, Integer>> replayContentEvents() {
+        return ResponseEntity.ok(Map.of("eventsReplayed", contentEventPipeline.replayFailed()));
+    }
+
+    // Recount every author's recipes and learning plans from the content collections
+    // Endpoint: POST /api/admin/repairs/author-counters
+    @PostMapping("/repairs/author-counters")
+    public ResponseEntity<Map<String, Integer>> repairAuthorCounters() {
+        logger.info("Starting author counter repair");
+        return ResponseEntity.ok(Map.of("authorsChanged", authorCounters.repair()));
+    }
+
+    // Start (or resume) the background rewrite of legacy recipes to the current schema version
+    // Endpoint: POST /api/admin/jobs/recipe-backfill
+    @PostMapping("/jobs/recipe-backfill")
+    public ResponseEntity<JobProgress> startRecipeBackfill() {
+        return ResponseEntity.accepted().body(recipeBackfillService.start());
+    }
+
+    // Progress of the recipe backfill
+    // Endpoint: GET /api/admin/jobs/recipe-backfill
+    @GetMapping("/jobs/recipe-backfill")
+    public ResponseEntity<JobProgress> getRecipeBackfillProgress() {
+        return ResponseEntity.ok(recipeBackfillService.getProgress());
+    }
+
+    // Rebuild the similar recipes index from the recipes collection; the current index keeps serving until then
+    // Endpoint: POST /api/admin/indexes/similar-recipes/rebuild
+    @PostMapping("/indexes/similar-recipes/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildSimilarRecipeIndex() {
+        boolean started = similarRecipeIndex.rebuild();
+        logger.info("Similar recipe index rebuild {}", started ? "started" : "already running");
+        return ResponseEntity.accepted().body(Map.of("started", started, "indexedRecipes", similarRecipeIndex.size()));
+    }
+}
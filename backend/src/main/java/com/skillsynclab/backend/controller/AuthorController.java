@@ -0,0 +1,34 @@
+package com.skillsynclab.backend.controller;
+
+import com.skillsynclab.backend.model.Author;
+import com.skillsynclab.backend.service.AuthorService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Author profiles. Content responses embed the current profile, so a change made here shows up
+// everywhere without rewriting the author's recipes, discussions, plans or comments.
+@RestController
+@RequestMapping("/api/authors")
+public class AuthorController {
+    private final AuthorService authorService;
+
+    public AuthorController(AuthorService authorService) {
+        this.authorService = authorService;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Author> getAuthor(@PathVariable String id) {
+        return authorService.getAuthor(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Author> updateAuthor(@PathVariable String id, @RequestBody Author profile) {
+        Author updated = authorService.updateAuthor(id, profile);
+        if (updated == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(updated);
+    }
+}
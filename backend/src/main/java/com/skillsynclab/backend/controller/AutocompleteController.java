@@ -0,0 +1,46 @@
+package com.skillsynclab.backend.controller;
+
+import com.skillsynclab.backend.model.AutocompleteSuggestion;
+import com.skillsynclab.backend.model.AutocompleteType;
+import com.skillsynclab.backend.service.AutocompleteIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Search-as-you-type completions of recipe titles, ingredient names and tags.
+@RestController
+@RequestMapping("/api/autocomplete")
+public class AutocompleteController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteController.class);
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+
+    // Most popular completions of the prefix, best first; no type = titles, ingredients and tags mixed
+    // Endpoint: GET /api/autocomplete?prefix=choc&type=title|ingredient|tag&limit=10
+    @GetMapping
+    public ResponseEntity<?> autocomplete(@RequestParam(required = false) String prefix,
+                                          @RequestParam(required = false) String type,
+                                          @RequestParam(required = false) Integer limit) {
+        try {
+            List<AutocompleteSuggestion> suggestions =
+                    autocompleteIndex.suggest(prefix, AutocompleteType.fromParam(type), limit);
+            logger.debug("Autocomplete '{}' returned {} suggestions", prefix, suggestions.size());
+            return ResponseEntity.ok(suggestions);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid autocomplete request: {}", e.getMessage());
+            return ResponseEntity.status(400).body("Invalid request: " + e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.warn("Autocomplete unavailable: {}", e.getMessage());
+            return ResponseEntity.status(503).body(e.getMessage());
+        }
+    }
+}
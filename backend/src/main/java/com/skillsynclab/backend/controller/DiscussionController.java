@@ -1,12 +1,24 @@
 package com.skillsynclab.backend.controller;
 
+import com.skillsynclab.backend.model.Comment;
+import com.skillsynclab.backend.model.CursorPage;
 import com.skillsynclab.backend.model.Discussion;
+import com.skillsynclab.backend.model.FieldSelection;
+import com.skillsynclab.backend.model.LikeStatus;
+import com.skillsynclab.backend.model.LikeTarget;
+import com.skillsynclab.backend.service.CollectionVersions;
+import com.skillsynclab.backend.service.CommentService;
 import com.skillsynclab.backend.service.DiscussionService;
+import com.skillsynclab.backend.service.LikeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -14,9 +26,24 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:8080")
 public class DiscussionController {
 
+    // Collections the list responses are built from (discussions carry a comment preview)
+    private static final String[] LIST_SOURCES = {"discussions", "comments", "likes", "authors"};
+
     @Autowired
     private DiscussionService discussionService;
 
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Autowired
+    private SparseFieldsets sparseFieldsets;
+
     @PostMapping
     public ResponseEntity<Discussion> createDiscussion(@RequestBody Discussion discussion) {
         Discussion created = discussionService.createDiscussion(discussion);
@@ -24,30 +51,101 @@ public class DiscussionController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Discussion>> getAllDiscussions() {
-        List<Discussion> discussions = discussionService.getAllDiscussions();
-        return ResponseEntity.ok(discussions);
+    // fields selects parts of each discussion, e.g. ?fields=title,author.name,commentCount
+    public ResponseEntity<List<?>> getAllDiscussions(@RequestParam(required = false) String fields, WebRequest request) {
+        FieldSelection selection = FieldSelection.fromParam(fields, Discussion.class);
+        String etag = collectionVersions.etag(LIST_SOURCES);
+        if (request.checkNotModified(etag)) {
+            return null; // 304, the list is not read
+        }
+        List<Discussion> discussions = discussionService.getAllDiscussions(selection);
+        return Preconditions.ok(etag).body(sparseFieldsets.of(discussions, selection));
     }
 
+    // 304 if If-None-Match still matches
     @GetMapping("/{id}")
-    public ResponseEntity<Discussion> getDiscussionById(@PathVariable String id) {
-        Optional<Discussion> discussion = discussionService.getDiscussionById(id);
-        return discussion.map(ResponseEntity::ok)
+    public ResponseEntity<?> getDiscussionById(@PathVariable String id, @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.fromParam(fields, Discussion.class);
+        Optional<Discussion> discussion = discussionService.getDiscussionById(id, selection);
+        return discussion.<ResponseEntity<?>>map(d -> Preconditions.ok(etag(d))
+                        .body(sparseFieldsets.of(d, selection)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Discussion> updateDiscussion(@PathVariable String id, @RequestBody Discussion discussion) {
-        Discussion updated = discussionService.updateDiscussion(id, discussion);
+    public ResponseEntity<Discussion> updateDiscussion(@PathVariable String id, @RequestBody Discussion discussion,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Discussion updated = discussionService.updateDiscussion(id, discussion, Preconditions.parseIfMatch(ifMatch));
         if (updated != null) {
-            return ResponseEntity.ok(updated);
+            return ResponseEntity.ok().eTag(Preconditions.etag(updated.getVersion())).body(updated);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Discussion> patchDiscussion(@PathVariable String id, @RequestBody Map<String, Object> patch,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Discussion patched = discussionService.patchDiscussion(id, patch, Preconditions.parseIfMatch(ifMatch));
+        if (patched != null) {
+            return ResponseEntity.ok().eTag(Preconditions.etag(patched.getVersion())).body(patched);
         }
         return ResponseEntity.notFound().build();
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDiscussion(@PathVariable String id) {
-        discussionService.deleteDiscussion(id);
+        if (!discussionService.deleteDiscussion(id)) {
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // Endpoint: POST /api/discussions/{id}/like?userId=...  (idempotent per user)
+    @PostMapping("/{id}/like")
+    public ResponseEntity<LikeStatus> likeDiscussion(@PathVariable String id, @RequestParam String userId) {
+        LikeStatus status = likeService.like(LikeTarget.DISCUSSION, id, userId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    // Endpoint: DELETE /api/discussions/{id}/like?userId=...
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<LikeStatus> unlikeDiscussion(@PathVariable String id, @RequestParam String userId) {
+        LikeStatus status = likeService.unlike(LikeTarget.DISCUSSION, id, userId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    // Endpoint: POST /api/discussions/{id}/comments
+    @PostMapping("/{id}/comments")
+    public ResponseEntity<Comment> addComment(@PathVariable String id, @RequestBody Comment comment) {
+        Comment created = commentService.addComment(id, comment);
+        if (created == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    // Oldest first, keyset-paginated
+    // Endpoint: GET /api/discussions/{id}/comments?limit=20&cursor=<nextCursor>
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<CursorPage<Comment>> getComments(@PathVariable String id,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           WebRequest request) {
+        String etag = collectionVersions.etag(LIST_SOURCES);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CursorPage<Comment> page = commentService.getComments(id, cursor, limit);
+        if (page == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Preconditions.ok(etag).body(page);
+    }
+
+    private static String etag(Discussion discussion) {
+        List<String> preview = discussion.getComments() == null ? List.of()
+                : discussion.getComments().stream().map(Comment::getId).toList();
+        return Preconditions.etag(discussion.getVersion(), discussion.getAuthor(),
+                discussion.getLikes(), discussion.getCommentCount(), preview);
+    }
+}
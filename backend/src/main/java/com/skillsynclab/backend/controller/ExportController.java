@@ -0,0 +1,81 @@
+package com.skillsynclab.backend.controller;
+
+import com.skillsynclab.backend.model.ExportTarget;
+import com.skillsynclab.backend.service.ExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+// Streaming exports of recipes, discussions and learning plans as NDJSON.
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private ExportService exportService;
+
+    // Export a collection (recipes, discussions or learning-plans), one document per line
+    // Endpoint: GET /api/export/{collection}?since=2024-05-01T00:00:00Z&gzip=true
+    // The body is gzip-encoded with gzip=true or when the client accepts gzip.
+    // Errors carry no body: the handler must be typed to StreamingResponseBody for async streaming.
+    @GetMapping("/{collection}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String collection,
+                                      @RequestParam(required = false) String since,
+                                      @RequestParam(defaultValue = "false") boolean gzip,
+                                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportTarget target = ExportTarget.fromPath(collection);
+        if (target == null) {
+            logger.warn("Unknown export collection {}", collection);
+            return ResponseEntity.status(404).build();
+        }
+        LocalDateTime from;
+        try {
+            from = ExportService.parseSince(since);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid export request: {}", e.getMessage());
+            return ResponseEntity.status(400).build();
+        }
+        boolean compress = gzip || (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip"));
+
+        StreamingResponseBody body = out -> {
+            if (!compress) {
+                exportService.export(target, from, out);
+                return;
+            }
+            // syncFlush so that every flush of the export reaches the client
+            GZIPOutputStream gzipOut = new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true);
+            exportService.export(target, from, gzipOut);
+            gzipOut.finish();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(target.getPath() + ".ndjson").build().toString());
+        if (compress) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,58 @@
+package com.skillsynclab.backend.controller;
+
+import com.skillsynclab.backend.model.TrendingPage;
+import com.skillsynclab.backend.service.LiveFeed;
+import com.skillsynclab.backend.service.TrendingFeed;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+
+// Server-Sent Events feed of newly created recipes and discussions, and the trending feed.
+@RestController
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    @Autowired
+    private LiveFeed liveFeed;
+
+    @Autowired
+    private TrendingFeed trendingFeed;
+
+    // Subscribe to new content; events are "recipe" (RecipeSummary), "discussion"
+    // (DiscussionSummary) and "reset" (events were missed, reload the lists)
+    // Endpoint: GET /api/feed/stream  (EventSource sends Last-Event-ID when reconnecting)
+    // The response is written by LiveFeed with non-blocking I/O after this method returns.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void stream(HttpServletRequest request, HttpServletResponse response,
+                       @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) throws IOException {
+        liveFeed.subscribe(request, response, lastEventId);
+    }
+
+    // Trending recipes and discussions, best first, from the last published ranking; 304 until it changes
+    // Endpoint: GET /api/feed/trending?category=Dessert&limit=20  (no category = everything)
+    @GetMapping("/trending")
+    public ResponseEntity<?> trending(@RequestParam(required = false) String category,
+                                      @RequestParam(required = false) Integer limit,
+                                      WebRequest request) {
+        String etag = trendingFeed.computedAt() != null ? "W/\"" + trendingFeed.computedAt() + "\"" : null;
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            TrendingPage page = trendingFeed.getTrending(category, limit);
+            return Preconditions.ok(etag).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body("Invalid request: " + e.getMessage());
+        }
+    }
+}
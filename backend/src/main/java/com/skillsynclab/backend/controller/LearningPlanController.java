@@ -1,19 +1,31 @@
 package com.skillsynclab.backend.controller;
 
+import com.skillsynclab.backend.model.FieldSelection;
 import com.skillsynclab.backend.model.LearningPlan;
+import com.skillsynclab.backend.service.CollectionVersions;
 import com.skillsynclab.backend.service.LearningPlanService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/learning-plans")
 public class LearningPlanController {
+    private static final String[] LIST_SOURCES = {"learning_plans", "authors"};
+
     private final LearningPlanService learningPlanService;
+    private final CollectionVersions collectionVersions;
+    private final SparseFieldsets sparseFieldsets;
 
-    public LearningPlanController(LearningPlanService learningPlanService) {
+    public LearningPlanController(LearningPlanService learningPlanService, CollectionVersions collectionVersions,
+                                  SparseFieldsets sparseFieldsets) {
         this.learningPlanService = learningPlanService;
+        this.collectionVersions = collectionVersions;
+        this.sparseFieldsets = sparseFieldsets;
     }
 
     @PostMapping
@@ -22,25 +34,52 @@ public class LearningPlanController {
     }
 
     @GetMapping
-    public List<LearningPlan> getAllLearningPlans() {
-        return learningPlanService.getAllLearningPlans();
+    // fields selects parts of each plan, e.g. ?fields=title,steps.title
+    public ResponseEntity<List<?>> getAllLearningPlans(@RequestParam(required = false) String fields, WebRequest request) {
+        FieldSelection selection = FieldSelection.fromParam(fields, LearningPlan.class);
+        String etag = collectionVersions.etag(LIST_SOURCES);
+        if (request.checkNotModified(etag)) {
+            return null; // 304, the list is not read
+        }
+        List<LearningPlan> learningPlans = learningPlanService.getAllLearningPlans(selection);
+        return Preconditions.ok(etag).body(sparseFieldsets.of(learningPlans, selection));
     }
 
+    // 304 if If-None-Match still matches
     @GetMapping("/{id}")
-    public ResponseEntity<LearningPlan> getLearningPlanById(@PathVariable String id) {
-        return learningPlanService.getLearningPlanById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<?> getLearningPlanById(@PathVariable String id, @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.fromParam(fields, LearningPlan.class);
+        return learningPlanService.getLearningPlanById(id, selection)
+                .<ResponseEntity<?>>map(plan -> Preconditions.ok(Preconditions.etag(plan.getVersion(), plan.getAuthor()))
+                        .body(sparseFieldsets.of(plan, selection)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    public LearningPlan updateLearningPlan(@PathVariable String id, @RequestBody LearningPlan learningPlan) {
-        return learningPlanService.updateLearningPlan(id, learningPlan);
+    public ResponseEntity<LearningPlan> updateLearningPlan(@PathVariable String id, @RequestBody LearningPlan learningPlan,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        LearningPlan updated = learningPlanService.updateLearningPlan(id, learningPlan, Preconditions.parseIfMatch(ifMatch));
+        if (updated == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(Preconditions.etag(updated.getVersion())).body(updated);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<LearningPlan> patchLearningPlan(@PathVariable String id, @RequestBody Map<String, Object> patch,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        LearningPlan patched = learningPlanService.patchLearningPlan(id, patch, Preconditions.parseIfMatch(ifMatch));
+        if (patched == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(Preconditions.etag(patched.getVersion())).body(patched);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteLearningPlan(@PathVariable String id) {
-        learningPlanService.deleteLearningPlan(id);
+        if (!learningPlanService.deleteLearningPlan(id)) {
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package com.skillsynclab.backend.controller;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.skillsynclab.backend.model.MediaUpload;
+import com.skillsynclab.backend.service.MediaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Upload and serve media stored in GridFS.
+// Media is immutable once stored (a new upload always gets a new id), so responses are
+// cacheable forever and the id itself is a strong ETag.
+@RestController
+@RequestMapping("/api/media")
+public class MediaController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaController.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private MediaService mediaService;
+
+    // Upload a file
+    // Endpoint: POST /api/media (multipart/form-data, part name "file")
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> upload(@RequestParam("file") MultipartFile file) {
+        try {
+            MediaUpload upload = mediaService.store(file);
+            return ResponseEntity.ok(upload);
+        } catch (IllegalArgumentException e) {
+            logger.error("Validation error uploading media: {}", e.getMessage());
+            return ResponseEntity.status(400).body("Validation error: " + e.getMessage());
+        }
+    }
+
+    // Stream a file, honouring If-None-Match and a single byte Range
+    // Endpoint: GET /api/media/{id}
+    // Errors carry no body: the handler must be typed to StreamingResponseBody for async streaming.
+    @GetMapping("/{id}")
+    public ResponseEntity<StreamingResponseBody> download(@PathVariable String id,
+                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                      @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader) {
+        Optional<GridFSFile> found;
+        try {
+            found = mediaService.findFile(id);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid media ID {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).build();
+        }
+        if (found.isEmpty()) {
+            logger.warn("Media with ID {} not found", id);
+            return ResponseEntity.status(404).build();
+        }
+        GridFSFile file = found.get();
+        String etag = "\"" + id + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        long length = file.getLength();
+        long start = 0;
+        long end = length - 1;
+        HttpStatus status = HttpStatus.OK;
+        // A malformed Range is ignored (RFC 9110 14.2) and the full body served; only a well-formed
+        // range that lies outside the file is 416. Multi-range (multipart/byteranges) responses are
+        // not supported, and serving the full body is valid for those too.
+        List<HttpRange> ranges = parseRanges(rangeHeader);
+        if (ranges.size() == 1) {
+            start = ranges.get(0).getRangeStart(length);
+            end = ranges.get(0).getRangeEnd(length);
+            if (start >= length || start > end) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+        }
+
+        final long offset = start;
+        final long count = end - start + 1;
+        StreamingResponseBody body = out -> copyRange(file, offset, count, out);
+
+        String contentType = mediaService.contentTypeOf(file);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+                .contentType(MediaType.parseMediaType(contentType))
+                .contentLength(count)
+                .eTag(etag)
+                .lastModified(file.getUploadDate().toInstant())
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                // Uploads are user content served from the API origin: never let a browser sniff or
+                // render them as a document that could run script
+                .header("X-Content-Type-Options", "nosniff")
+                .header("Content-Security-Policy", "default-src 'none'; sandbox")
+                .header(HttpHeaders.CONTENT_DISPOSITION, MediaService.isSupportedContentType(contentType)
+                        ? ContentDisposition.inline().build().toString()
+                        : ContentDisposition.attachment().build().toString());
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        return response.body(body);
+    }
+
+    private static List<HttpRange> parseRanges(String rangeHeader) {
+        if (rangeHeader == null) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Ignoring malformed Range header '{}': {}", rangeHeader, e.getMessage());
+            return List.of();
+        }
+    }
+
+    // Copies count bytes starting at offset straight from the GridFS chunk stream to the socket.
+    // GridFSDownloadStream.skip seeks to the right chunk, so a range read never loads earlier chunks.
+    private void copyRange(GridFSFile file, long offset, long count, OutputStream out) throws IOException {
+        try (InputStream in = mediaService.openStream(file)) {
+            long skipped = 0;
+            while (skipped < offset) {
+                long n = in.skip(offset - skipped);
+                if (n <= 0) {
+                    break;
+                }
+                skipped += n;
+            }
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long remaining = count;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.skillsynclab.backend.controller;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import com.skillsynclab.backend.model.Author;
+
+// Helpers for HTTP conditional request headers shared by the resource controllers.
+// Entity tags on writes are the document's @Version value in quotes, e.g. "3". On reads the body
+// also carries fields that change without a versioned write (like and comment counters, the
+// hydrated author), so the tag is weak and adds a hash of those: W/"3-1f0c2a7". Either form is
+// accepted by If-Match, which only compares the version.
+final class Preconditions {
+
+    // Responses with validators may be stored, but must be revalidated before every reuse
+    static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    private Preconditions() {
+    }
+
+    // Parses an If-Match header into the expected version; null means "no precondition" (absent or *)
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().isEmpty() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        int dash = tag.indexOf('-');
+        if (dash > 0) {
+            tag = tag.substring(0, dash);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed If-Match header: " + ifMatch);
+        }
+    }
+
+    static String etag(Long version) {
+        return version != null ? "\"" + version + "\"" : null;
+    }
+
+    static String etag(Long version, Author author, Object... unversioned) {
+        if (version == null) {
+            return null;
+        }
+        int hash = Objects.hash(Arrays.hashCode(unversioned), author == null ? 0 : Objects.hash(
+                author.getId(), author.getUsername(), author.getName(), author.getBio(),
+                author.getProfileImageUrl(), author.getFollowers(), author.getFollowing(),
+                author.getRecipes(), author.getLearningPlans()));
+        return "W/\"" + version + "-" + Integer.toHexString(hash) + "\"";
+    }
+
+    // A 200 carrying the entity tag. For GET, Spring compares it with If-None-Match when the
+    // handler returns and answers 304 before the body is serialized. There is no Last-Modified:
+    // updatedAt does not move with the unversioned fields, so If-Modified-Since would answer 304
+    // for a body whose likes, comments or author have changed.
+    static ResponseEntity.BodyBuilder ok(String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE);
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response;
+    }
+}
@@ -1,24 +1,48 @@
 package com.skillsynclab.backend.controller;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.skillsynclab.backend.model.BulkImportReport;
+import com.skillsynclab.backend.model.CursorPage;
+import com.skillsynclab.backend.model.FieldSelection;
+import com.skillsynclab.backend.model.LikeStatus;
+import com.skillsynclab.backend.model.LikeTarget;
+import com.skillsynclab.backend.model.PantryMatch;
+import com.skillsynclab.backend.model.PantryRequest;
 import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.model.RecipeFacets;
+import com.skillsynclab.backend.model.RecipeSummary;
+import com.skillsynclab.backend.model.RecipeView;
+import com.skillsynclab.backend.model.SimilarRecipe;
+import com.skillsynclab.backend.service.CollectionVersions;
+import com.skillsynclab.backend.service.LikeService;
+import com.skillsynclab.backend.service.RecipeImportService;
 import com.skillsynclab.backend.service.RecipeService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 // This class is a Spring Boot REST controller for managing recipes.
 // It provides endpoints to create, read, update, and delete recipes.
 @RestController
@@ -29,9 +53,24 @@ public class RecipeController {
     // It uses SLF4J for logging, which is a simple facade for various logging frameworks.
     private static final Logger logger = LoggerFactory.getLogger(RecipeController.class);
 
+    // Collections the list responses are built from: recipes, pending like counts, author profiles
+    private static final String[] LIST_SOURCES = {"recipes", "likes", "authors"};
+
     @Autowired
     private RecipeService recipeService;
 
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private RecipeImportService recipeImportService;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Autowired
+    private SparseFieldsets sparseFieldsets;
+
     // Create a new recipe
     // Endpoint: POST /api/recipes
     @PostMapping
@@ -50,31 +89,130 @@ public class RecipeController {
         }
     }
 
-    // Fetch all recipes
-    // Endpoint: GET /api/recipes
+    // Import many recipes in one request, as a JSON array or as NDJSON (one recipe per line).
+    // Always 200 with a per-item report; items fail individually.
+    // Endpoint: POST /api/recipes/bulk
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportReport> importRecipes(HttpServletRequest request) throws IOException {
+        BulkImportReport report = recipeImportService.importRecipes(request.getInputStream());
+        logger.info("Bulk import created {} of {} recipes", report.getCreated(), report.getReceived());
+        return ResponseEntity.ok(report);
+    }
+
+    // Fetch one page of recipes; fields selects parts of the full view, e.g. fields=title,author.name,steps.instruction
+    // Endpoint: GET /api/recipes?sort=newest|most_liked|quickest&limit=20&cursor=<nextCursor>&view=full|card&fields=...
     @GetMapping
-    public ResponseEntity<List<Recipe>> getAllRecipes() {
+    public ResponseEntity<?> getRecipes(@RequestParam(required = false) String sort,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer limit,
+                                        @RequestParam(required = false) String view,
+                                        @RequestParam(required = false) String fields,
+                                        WebRequest request) {
+        String etag = collectionVersions.etag(LIST_SOURCES);
+        if (request.checkNotModified(etag)) {
+            return null; // 304, the page is not read
+        }
         try {
-            logger.debug("Received request to fetch all recipes");
-            List<Recipe> recipes = recipeService.getAllRecipes();
-            logger.info("Fetched {} recipes", recipes.size());
-            return ResponseEntity.ok(recipes);
+            logger.debug("Received request to fetch recipes: sort={}, limit={}, view={}", sort, limit, view);
+            FieldSelection selection = FieldSelection.fromParam(fields, Recipe.class);
+            boolean cards = RecipeView.fromParam(view) == RecipeView.CARD;
+            if (cards && selection != null) {
+                throw new IllegalArgumentException("fields cannot be combined with view=card");
+            }
+            CursorPage<?> page = cards
+                    ? recipeService.getRecipeCards(sort, cursor, limit)
+                    : recipeService.getRecipes(sort, cursor, limit, selection);
+            logger.info("Fetched {} recipes", page.getItems().size());
+            return Preconditions.ok(etag).body(sparseFieldsets.of(page, selection));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid recipe page request: {}", e.getMessage());
+            return ResponseEntity.status(400).body("Invalid request: " + e.getMessage());
         } catch (Exception e) {
             logger.error("Error fetching recipes: {}", e.getMessage(), e);
             throw e; // Let GlobalExceptionHandler handle it
         }
     }
 
-    // Fetch a recipe by ID 
-    // Endpoint: GET /api/recipes/{id}
+    // Full-text search, best match first, returned as recipe cards
+    // Endpoint: GET /api/recipes/search?q=...&difficulty=Easy&maxTime=30&limit=20&cursor=<nextCursor>
+    @GetMapping("/search")
+    public ResponseEntity<?> searchRecipes(@RequestParam(required = false) String q,
+                                           @RequestParam(required = false) String difficulty,
+                                           @RequestParam(required = false) Integer maxTime,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit,
+                                           WebRequest request) {
+        String etag = collectionVersions.etag(LIST_SOURCES);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            logger.debug("Received recipe search: q={}, difficulty={}, maxTime={}", q, difficulty, maxTime);
+            CursorPage<RecipeSummary> page = recipeService.searchRecipes(q, difficulty, maxTime, cursor, limit);
+            logger.info("Search '{}' returned {} recipes", q, page.getItems().size());
+            return Preconditions.ok(etag).body(page);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid recipe search request: {}", e.getMessage());
+            return ResponseEntity.status(400).body("Invalid request: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error searching recipes: {}", e.getMessage(), e);
+            throw e; // Let GlobalExceptionHandler handle it
+        }
+    }
+
+    // Browse page: newest matching recipes as cards plus category/tag/difficulty/time counts
+    // Endpoint: GET /api/recipes/facets?category=Dessert&tag=vegan&difficulty=Easy&maxTime=30&limit=20
+    @GetMapping("/facets")
+    public ResponseEntity<?> getFacets(@RequestParam(name = "category", required = false) List<String> categories,
+                                       @RequestParam(name = "tag", required = false) List<String> tags,
+                                       @RequestParam(required = false) String difficulty,
+                                       @RequestParam(required = false) Integer maxTime,
+                                       @RequestParam(required = false) Integer limit,
+                                       WebRequest request) {
+        String etag = collectionVersions.etag(LIST_SOURCES);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            RecipeFacets facets = recipeService.getFacets(categories, tags, difficulty, maxTime, limit);
+            logger.info("Facets returned {} of {} recipes", facets.getItems().size(), facets.getTotal());
+            return Preconditions.ok(etag).body(facets);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid recipe facets request: {}", e.getMessage());
+            return ResponseEntity.status(400).body("Invalid request: " + e.getMessage());
+        }
+    }
+
+    // Recipes ranked by how much of their ingredient list the given pantry covers
+    // Endpoint: POST /api/recipes/by-ingredients  {"pantry": ["egg", "flour"], "limit": 20, "minCoverage": 0.5}
+    @PostMapping("/by-ingredients")
+    public ResponseEntity<?> findByIngredients(@RequestBody PantryRequest request) {
+        try {
+            List<PantryMatch> matches = recipeService.findByIngredients(request);
+            logger.info("Pantry search returned {} recipes", matches.size());
+            return ResponseEntity.ok(matches);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid pantry search request: {}", e.getMessage());
+            return ResponseEntity.status(400).body("Invalid request: " + e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.warn("Pantry search unavailable: {}", e.getMessage());
+            return ResponseEntity.status(503).body(e.getMessage());
+        }
+    }
+
+    // Fetch a recipe by ID; 304 if If-None-Match still matches
+    // Endpoint: GET /api/recipes/{id}?fields=...
     @GetMapping("/{id}")
-    public ResponseEntity<?> getRecipeById(@PathVariable String id) {
+    public ResponseEntity<?> getRecipeById(@PathVariable String id, @RequestParam(required = false) String fields) {
         try {
             logger.debug("Received request to fetch recipe with ID: {}", id);
-            Optional<Recipe> recipe = recipeService.getRecipeById(id);
+            FieldSelection selection = FieldSelection.fromParam(fields, Recipe.class);
+            Optional<Recipe> recipe = recipeService.getRecipeById(id, selection);
             if (recipe.isPresent()) {
                 logger.info("Fetched recipe with ID: {}", id);
-                return ResponseEntity.ok(recipe.get());
+                Recipe r = recipe.get();
+                return Preconditions.ok(Preconditions.etag(r.getVersion(), r.getAuthor(), r.getLikes()))
+                        .body(sparseFieldsets.of(r, selection));
             } else {
                 logger.warn("Recipe with ID {} not found", id);
                 return ResponseEntity.status(404).body("Recipe not found");
@@ -88,16 +226,43 @@ public class RecipeController {
         }
     }
 
+    // Recipes most similar to this one by ingredients, tags and categories, best first
+    // Endpoint: GET /api/recipes/{id}/similar?k=6
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarRecipes(@PathVariable String id, @RequestParam(required = false) Integer k,
+                                               WebRequest request) {
+        String etag = collectionVersions.etag(LIST_SOURCES);
+        if (request.checkNotModified(etag)) {
+            return null; // 304, nothing is ranked
+        }
+        try {
+            List<SimilarRecipe> similar = recipeService.getSimilarRecipes(id, k);
+            if (similar == null) {
+                logger.warn("Recipe with ID {} not found", id);
+                return ResponseEntity.status(404).body("Recipe not found");
+            }
+            logger.info("Found {} recipes similar to {}", similar.size(), id);
+            return Preconditions.ok(etag).body(similar);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid similar recipes request for {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).body("Invalid request: " + e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.warn("Similar recipes unavailable: {}", e.getMessage());
+            return ResponseEntity.status(503).body(e.getMessage());
+        }
+    }
+
     // Update a recipe by ID
-    // Endpoint: PUT /api/recipes/{id}
+    // Endpoint: PUT /api/recipes/{id}  (optional If-Match: "<version>", 412 if stale)
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateRecipe(@PathVariable String id, @RequestBody Recipe recipe) {
+    public ResponseEntity<?> updateRecipe(@PathVariable String id, @RequestBody Recipe recipe,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             logger.debug("Received request to update recipe with ID: {}", id);
-            Recipe updatedRecipe = recipeService.updateRecipe(id, recipe);
+            Recipe updatedRecipe = recipeService.updateRecipe(id, recipe, Preconditions.parseIfMatch(ifMatch));
             if (updatedRecipe != null) {
                 logger.info("Updated recipe with ID: {}", id);
-                return ResponseEntity.ok(updatedRecipe);
+                return ResponseEntity.ok().eTag(Preconditions.etag(updatedRecipe.getVersion())).body(updatedRecipe);
             } else {
                 logger.warn("Recipe with ID {} not found for update", id);
                 return ResponseEntity.status(404).body("Recipe not found");
@@ -111,12 +276,38 @@ public class RecipeController {
         }
     }
 
+    // Partially update a recipe; only the fields present in the body are changed
+    // Endpoint: PATCH /api/recipes/{id}  (optional If-Match: "<version>", 412 if stale)
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchRecipe(@PathVariable String id, @RequestBody Map<String, Object> patch,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            logger.debug("Received request to patch recipe with ID: {}", id);
+            Recipe patchedRecipe = recipeService.patchRecipe(id, patch, Preconditions.parseIfMatch(ifMatch));
+            if (patchedRecipe != null) {
+                logger.info("Patched recipe with ID: {}", id);
+                return ResponseEntity.ok().eTag(Preconditions.etag(patchedRecipe.getVersion())).body(patchedRecipe);
+            } else {
+                logger.warn("Recipe with ID {} not found for patch", id);
+                return ResponseEntity.status(404).body("Recipe not found");
+            }
+        } catch (IllegalArgumentException e) {
+            logger.error("Validation error patching recipe ID {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).body("Validation error: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error patching recipe ID {}: {}", id, e.getMessage(), e);
+            throw e; // Let GlobalExceptionHandler handle it
+        }
+    }
+
     // Delete a recipe by ID 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteRecipe(@PathVariable String id) {
         try {
             logger.debug("Received request to delete recipe with ID: {}", id);
-            recipeService.deleteRecipe(id);
+            if (!recipeService.deleteRecipe(id)) {
+                return ResponseEntity.status(404).body("Recipe not found");
+            }
             logger.info("Deleted recipe with ID: {}", id);
             return ResponseEntity.ok().build();
         } catch (IllegalArgumentException e) {
@@ -127,4 +318,36 @@ public class RecipeController {
             throw e; // Let GlobalExceptionHandler handle it
         }
     }
-}
\ No newline at end of file
+
+    // Like a recipe on behalf of a user; liking twice has no further effect
+    // Endpoint: POST /api/recipes/{id}/like?userId=...
+    @PostMapping("/{id}/like")
+    public ResponseEntity<?> likeRecipe(@PathVariable String id, @RequestParam String userId) {
+        try {
+            LikeStatus status = likeService.like(LikeTarget.RECIPE, id, userId);
+            if (status == null) {
+                return ResponseEntity.status(404).body("Recipe not found");
+            }
+            return ResponseEntity.ok(status);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid like request for recipe ID {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).body("Invalid request: " + e.getMessage());
+        }
+    }
+
+    // Remove a user's like from a recipe
+    // Endpoint: DELETE /api/recipes/{id}/like?userId=...
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<?> unlikeRecipe(@PathVariable String id, @RequestParam String userId) {
+        try {
+            LikeStatus status = likeService.unlike(LikeTarget.RECIPE, id, userId);
+            if (status == null) {
+                return ResponseEntity.status(404).body("Recipe not found");
+            }
+            return ResponseEntity.ok(status);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid unlike request for recipe ID {}: {}", id, e.getMessage());
+            return ResponseEntity.status(400).body("Invalid request: " + e.getMessage());
+        }
+    }
+}
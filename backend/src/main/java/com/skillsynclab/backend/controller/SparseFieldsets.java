@@ -0,0 +1,115 @@
+package com.skillsynclab.backend.controller;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.skillsynclab.backend.model.CursorPage;
+import com.skillsynclab.backend.model.FieldSelection;
+
+// Writes documents restricted to a FieldSelection. Responses wrap each document, and the wrapper
+// is serialized with the application's Jackson settings plus a property filter on every bean, so
+// the response has the shape of the selection rather than nulls for the unread fields. The
+// wrapper is serialized lazily, like any other body, so a 304 still writes nothing.
+@Component
+class SparseFieldsets {
+
+    private static final String FILTER_ID = "fields";
+
+    private final ObjectWriter writer;
+
+    SparseFieldsets(ObjectMapper objectMapper) {
+        // A copy, so the filter applies only to sparse responses
+        ObjectMapper filtering = objectMapper.copy();
+        filtering.setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+            @Override
+            public Object findFilterId(Annotated annotated) {
+                return annotated instanceof AnnotatedClass ? FILTER_ID : super.findFilterId(annotated);
+            }
+        });
+        // Documents are written into the response's generator, which flushes once at the end
+        this.writer = filtering.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // The document itself when no fields were selected
+    Object of(Object document, FieldSelection fields) {
+        return fields == null ? document : new Sparse(document, fields);
+    }
+
+    List<?> of(List<?> documents, FieldSelection fields) {
+        return fields == null ? documents : documents.stream().map(document -> of(document, fields)).toList();
+    }
+
+    CursorPage<?> of(CursorPage<?> page, FieldSelection fields) {
+        return fields == null ? page : new CursorPage<>(of(page.getItems(), fields), page.getNextCursor(), page.isHasMore());
+    }
+
+    private final class Sparse implements JsonSerializable {
+        private final Object document;
+        private final FieldSelection fields;
+
+        Sparse(Object document, FieldSelection fields) {
+            this.document = document;
+            this.fields = fields;
+        }
+
+        @Override
+        public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            PathFilter filter = new PathFilter(fields, gen.getOutputContext());
+            writer.with(new SimpleFilterProvider().addFilter(FILTER_ID, filter)).writeValue(gen, document);
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+                throws IOException {
+            serialize(gen, serializers);
+        }
+    }
+
+    // Keeps the properties whose path from the document root is included in the selection
+    private static final class PathFilter extends SimpleBeanPropertyFilter {
+        private final FieldSelection fields;
+        private final JsonStreamContext root;
+
+        PathFilter(FieldSelection fields, JsonStreamContext root) {
+            this.fields = fields;
+            this.root = root;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+                throws Exception {
+            if (fields.includes(path(gen.getOutputContext(), writer.getName()))) {
+                writer.serializeAsField(pojo, gen, provider);
+            }
+        }
+
+        // The context is the object being written; each enclosing object context is positioned on
+        // the property holding it. Arrays add nothing, so list elements share their list's path.
+        private String path(JsonStreamContext context, String name) {
+            StringBuilder path = new StringBuilder(name);
+            for (JsonStreamContext parent = context.getParent(); parent != null && parent != root;
+                 parent = parent.getParent()) {
+                if (parent.inObject()) {
+                    path.insert(0, '.').insert(0, parent.getCurrentName());
+                }
+            }
+            return path.toString();
+        }
+    }
+}
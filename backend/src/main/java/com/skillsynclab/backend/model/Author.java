@@ -2,7 +2,10 @@ package com.skillsynclab.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.data.mongodb.core.mapping.Document;
 
+// An author profile, stored once per author in the "authors" collection and referenced by authorId
+@Document(collection = "authors")
 public class Author {
     private String id;
     private String username;
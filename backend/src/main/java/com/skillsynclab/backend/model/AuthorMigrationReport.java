@@ -0,0 +1,13 @@
+package com.skillsynclab.backend.model;
+
+import lombok.Data;
+
+// Outcome of moving embedded author copies into the authors collection
+@Data
+public class AuthorMigrationReport {
+    private int recipesUpdated;
+    private int discussionsUpdated;
+    private int learningPlansUpdated;
+    private int commentsUpdated;
+    private int distinctAuthors;
+}
@@ -0,0 +1,14 @@
+package com.skillsynclab.backend.model;
+
+// Content written by an author. Documents store only authorId; author is the profile from the
+// "authors" collection, filled in for responses by AuthorService.hydrate. Documents written before
+// authors moved out still embed their own copy, which is read (never written) until migrated.
+public interface Authored {
+    String getAuthorId();
+
+    void setAuthorId(String authorId);
+
+    Author getAuthor();
+
+    void setAuthor(Author author);
+}
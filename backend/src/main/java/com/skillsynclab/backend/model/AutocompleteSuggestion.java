@@ -0,0 +1,13 @@
+package com.skillsynclab.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// One completion of an autocomplete prefix; weight is its popularity (recipes using it, plus their likes)
+@Data
+@AllArgsConstructor
+public class AutocompleteSuggestion {
+    private String text;
+    private AutocompleteType type;
+    private long weight;
+}
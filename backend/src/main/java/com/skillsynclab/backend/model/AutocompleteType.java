@@ -0,0 +1,20 @@
+package com.skillsynclab.backend.model;
+
+// What an autocomplete suggestion completes: a recipe title, an ingredient name or a tag
+public enum AutocompleteType {
+    TITLE,
+    INGREDIENT,
+    TAG;
+
+    // null when the parameter is absent, i.e. every type
+    public static AutocompleteType fromParam(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return AutocompleteType.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported type: " + value);
+        }
+    }
+}
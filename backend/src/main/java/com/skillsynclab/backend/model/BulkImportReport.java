@@ -0,0 +1,15 @@
+package com.skillsynclab.backend.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Response of POST /api/recipes/bulk: totals plus one result per item, in request order
+@Data
+public class BulkImportReport {
+    private int received;
+    private int created;
+    private int failed;
+    private List<BulkImportResult> results = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.skillsynclab.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Outcome of one item of a bulk import, by its position in the request body
+@Data
+@AllArgsConstructor
+public class BulkImportResult {
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private String id;    // set when CREATED
+    private String error; // set when FAILED
+}
@@ -2,14 +2,24 @@ package com.skillsynclab.backend.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+// A discussion comment. The full thread lives in the "comments" collection and is read in
+// (createdAt, _id) order; Discussion.comments only embeds the latest few as a preview.
 @Data
-public class Comment {
+@Document(collection = "comments")
+@CompoundIndex(name = "discussion_created", def = "{'discussionId': 1, 'createdAt': 1, '_id': 1}")
+public class Comment implements Authored {
     @Id
     private String id;
+    private String discussionId;
     private String content;
-    private Author author;
+    private String authorId;
+    @ReadOnlyProperty
+    private Author author; // hydrated from authorId, see Authored
     private LocalDateTime createdAt;
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package com.skillsynclab.backend.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque continuation token for a discussion's comments: the (createdAt, _id) of the last
+// comment on the previous page.
+public class CommentCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime lastCreatedAt;
+    private final String lastId;
+
+    public CommentCursor(LocalDateTime lastCreatedAt, String lastId) {
+        this.lastCreatedAt = lastCreatedAt;
+        this.lastId = lastId;
+    }
+
+    public static CommentCursor after(Comment last) {
+        return new CommentCursor(last.getCreatedAt(), last.getId());
+    }
+
+    public LocalDateTime getLastCreatedAt() {
+        return lastCreatedAt;
+    }
+
+    public String getLastId() {
+        return lastId;
+    }
+
+    public String encode() {
+        String raw = lastCreatedAt + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2 || !parts[1].matches("^[0-9a-fA-F]{24}$")) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new CommentCursor(LocalDateTime.parse(parts[0]), parts[1]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
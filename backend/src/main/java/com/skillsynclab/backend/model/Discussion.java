@@ -2,6 +2,9 @@ package com.skillsynclab.backend.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -10,18 +13,24 @@ import java.util.List;
 
 @Data
 @Document(collection = "discussions")
-public class Discussion {
+@CompoundIndex(name = "updatedAt_id", def = "{'updatedAt': 1, '_id': 1}") // incremental export
+public class Discussion implements Authored {
     @Id
     private String id;
     private String title;
     private String content;
     private List<String> images;
     private List<String> tags;
-    private Author author;
+    private String authorId;
+    @ReadOnlyProperty
+    private Author author; // hydrated from authorId, see Authored
     private Integer likes;
-    private List<Comment> comments;
+    private List<Comment> comments; // latest CommentService.COMMENT_PREVIEW_SIZE comments, newest last
+    private Integer commentCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @Version
+    private Long version;
 
     public void setImages(List<String> images) {
         this.images = images != null ? images : new ArrayList<>();
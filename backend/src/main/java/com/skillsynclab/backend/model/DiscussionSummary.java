@@ -0,0 +1,40 @@
+package com.skillsynclab.backend.model;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Card-sized read model of a discussion, as pushed by the live feed
+@Data
+public class DiscussionSummary {
+    public static final int EXCERPT_LENGTH = 200;
+
+    private String id;
+    private String title;
+    private String excerpt;
+    private List<String> tags;
+    private String authorId;
+    private String authorName;
+    private String authorAvatarUrl;
+    private Integer commentCount;
+    private LocalDateTime createdAt;
+
+    public static DiscussionSummary from(Discussion discussion) {
+        DiscussionSummary summary = new DiscussionSummary();
+        summary.setId(discussion.getId());
+        summary.setTitle(discussion.getTitle());
+        String content = discussion.getContent() != null ? discussion.getContent() : "";
+        summary.setExcerpt(content.length() > EXCERPT_LENGTH ? content.substring(0, EXCERPT_LENGTH) : content);
+        summary.setTags(discussion.getTags());
+        summary.setAuthorId(discussion.getAuthorId());
+        Author author = discussion.getAuthor();
+        if (author != null) {
+            summary.setAuthorName(author.getName() != null ? author.getName() : author.getUsername());
+            summary.setAuthorAvatarUrl(author.getProfileImageUrl());
+        }
+        summary.setCommentCount(discussion.getCommentCount() != null ? discussion.getCommentCount() : 0);
+        summary.setCreatedAt(discussion.getCreatedAt());
+        return summary;
+    }
+}
@@ -0,0 +1,34 @@
+package com.skillsynclab.backend.model;
+
+// Collections that can be exported through GET /api/export/{collection}, by their path name
+public enum ExportTarget {
+    RECIPES("recipes", Recipe.class),
+    DISCUSSIONS("discussions", Discussion.class),
+    LEARNING_PLANS("learning-plans", LearningPlan.class);
+
+    private final String path;
+    private final Class<?> entityType;
+
+    ExportTarget(String path, Class<?> entityType) {
+        this.path = path;
+        this.entityType = entityType;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    // Returns null for an unknown path name
+    public static ExportTarget fromPath(String path) {
+        for (ExportTarget target : values()) {
+            if (target.path.equals(path)) {
+                return target;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.skillsynclab.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// One value of a facet and the number of matching recipes that have it
+@Data
+@AllArgsConstructor
+public class FacetCount {
+    private String value;
+    private long count;
+}
@@ -0,0 +1,145 @@
+package com.skillsynclab.backend.model;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.mongodb.core.query.Query;
+
+// A sparse fieldset: the ?fields= parameter of the read endpoints, e.g. "title,author.name,steps.instruction".
+// Paths are property names of the model, dot-separated into nested objects; a path into a list
+// selects that property of every element. Selecting a path selects everything below it, and id
+// is always returned. The same paths drive the Mongo projection (see applyTo) and the response
+// filter, so unselected fields are neither read nor written.
+public final class FieldSelection {
+
+    public static final int MAX_FIELDS = 50;
+
+    private final Set<String> paths;
+    // Every proper prefix of a selected path ("author" for "author.name"): written as objects, but
+    // only with their selected children
+    private final Set<String> ancestors = new LinkedHashSet<>();
+
+    private FieldSelection(Set<String> paths) {
+        this.paths = paths;
+        for (String path : paths) {
+            for (int dot = path.indexOf('.'); dot > 0; dot = path.indexOf('.', dot + 1)) {
+                ancestors.add(path.substring(0, dot));
+            }
+        }
+    }
+
+    // null when the parameter is absent, i.e. all fields
+    public static FieldSelection fromParam(String value, Class<?> type) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        List<String> requested = new ArrayList<>();
+        for (String path : value.split(",")) {
+            path = path.trim();
+            if (!path.isEmpty()) {
+                validate(path, type);
+                requested.add(path);
+            }
+        }
+        if (requested.size() > MAX_FIELDS) {
+            throw new IllegalArgumentException("At most " + MAX_FIELDS + " fields can be selected");
+        }
+        // Mongo rejects a projection naming both a path and one of its ancestors ("path collision"),
+        // and the ancestor already selects the whole subtree
+        Set<String> paths = new LinkedHashSet<>();
+        for (String path : requested) {
+            if (requested.stream().noneMatch(other -> path.startsWith(other + "."))) {
+                paths.add(path);
+            }
+        }
+        return new FieldSelection(paths);
+    }
+
+    // Whether any selected path starts with the given top-level field, e.g. selects("author") for author.name
+    public boolean selects(String field) {
+        return paths.contains(field) || ancestors.contains(field);
+    }
+
+    // Whether the property at this path belongs in the response
+    public boolean includes(String path) {
+        if ("id".equals(path) || paths.contains(path) || ancestors.contains(path)) {
+            return true;
+        }
+        for (int dot = path.lastIndexOf('.'); dot > 0; dot = path.lastIndexOf('.', dot - 1)) {
+            if (paths.contains(path.substring(0, dot))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Restricts the query to the selected fields plus the given ones, which the service needs
+    // itself (sort keys for the cursor, the version for validators). An author is hydrated from
+    // authorId, so selecting any part of it also reads the authorId beside it, and the id of the
+    // embedded author that a legacy document has instead (otherwise it reads as an unknown author).
+    public void applyTo(Query query, String... required) {
+        Set<String> fields = new LinkedHashSet<>(paths);
+        List<String> needed = new ArrayList<>(List.of(required));
+        for (String path : paths) {
+            int author = ("." + path + ".").indexOf(".author.");
+            if (author >= 0) {
+                needed.add(path.substring(0, author) + "authorId");
+                needed.add(path.substring(0, author) + "author.id");
+            }
+        }
+        for (String field : needed) {
+            if (fields.stream().noneMatch(path -> field.equals(path) || field.startsWith(path + "."))) {
+                fields.add(field);
+            }
+        }
+        query.fields().include(fields.toArray(new String[0]));
+    }
+
+    private static void validate(String path, Class<?> type) {
+        Class<?> current = type;
+        String parent = null;
+        for (String name : path.split("\\.", -1)) {
+            if (current == null) {
+                throw new IllegalArgumentException("Unknown field: " + path + " (" + parent + " has no fields)");
+            }
+            Field field = findField(current, name);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown field: " + path);
+            }
+            current = nestedType(field);
+            parent = name;
+        }
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    // The model type a path can continue into (the element type for lists), or null for values
+    private static Class<?> nestedType(Field field) {
+        Class<?> type = field.getType();
+        if (Collection.class.isAssignableFrom(type)) {
+            Type generic = field.getGenericType();
+            if (!(generic instanceof ParameterizedType parameterized)
+                    || !(parameterized.getActualTypeArguments()[0] instanceof Class<?> element)) {
+                return null;
+            }
+            type = element;
+        }
+        return type.getPackage() == FieldSelection.class.getPackage() && !type.isEnum() ? type : null;
+    }
+}
@@ -2,9 +2,11 @@ package com.skillsynclab.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 
 public class Ingredient {
     private String id;
+    @TextIndexed(weight = 2) // part of the recipes text index as ingredients.name
     private String name;
     private String quantity;
     private String unit;
@@ -0,0 +1,35 @@
+package com.skillsynclab.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Persisted progress of a resumable maintenance job (one document per job).
+// lastId is the checkpoint: a restarted job continues with documents after it.
+@Data
+@Document(collection = "job_progress")
+public class JobProgress {
+
+    public enum Status { IDLE, RUNNING, COMPLETED, FAILED }
+
+    @Id
+    private String id;
+    private Status status = Status.IDLE;
+    private long total;
+    private long processed;
+    private long updated;
+    private String lastId;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    public JobProgress() {
+    }
+
+    public JobProgress(String id) {
+        this.id = id;
+    }
+}
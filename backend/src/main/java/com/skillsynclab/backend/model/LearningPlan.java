@@ -2,6 +2,9 @@ package com.skillsynclab.backend.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -9,17 +12,22 @@ import java.util.List;
 
 @Data
 @Document(collection = "learning_plans")
-public class LearningPlan {
+@CompoundIndex(name = "updatedAt_id", def = "{'updatedAt': 1, '_id': 1}") // incremental export
+public class LearningPlan implements Authored {
     @Id
     private String id;
     private String title;
     private String description;
     private String imageUrl;
-    private Author author;
+    private String authorId;
+    @ReadOnlyProperty
+    private Author author; // hydrated from authorId, see Authored
     private List<LearningStep> steps;
     private List<String> categories;
     private String difficulty;
     private String estimatedDuration;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.skillsynclab.backend.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// One user's like of one recipe or discussion.
+// The _id is derived from (target, targetId, userId), so a second like by the same user
+// is rejected by the primary key and never reaches the counter.
+@Data
+@Document(collection = "likes")
+@CompoundIndex(name = "target_user", def = "{'target': 1, 'targetId': 1, 'userId': 1}")
+public class Like {
+    @Id
+    private String id;
+    private LikeTarget target;
+    private String targetId;
+    private String userId;
+    private LocalDateTime createdAt;
+
+    public static String idFor(LikeTarget target, String targetId, String userId) {
+        return target.name() + ":" + targetId + ":" + userId;
+    }
+}
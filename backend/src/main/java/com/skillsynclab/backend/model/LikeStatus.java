@@ -0,0 +1,12 @@
+package com.skillsynclab.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Response of the like/unlike endpoints: whether the user now likes the target, and its current count
+@Data
+@AllArgsConstructor
+public class LikeStatus {
+    private boolean liked;
+    private int likes;
+}
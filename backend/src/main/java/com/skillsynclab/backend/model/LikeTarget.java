@@ -0,0 +1,17 @@
+package com.skillsynclab.backend.model;
+
+// Documents that can be liked, with the entity whose likes counter is incremented
+public enum LikeTarget {
+    RECIPE(Recipe.class),
+    DISCUSSION(Discussion.class);
+
+    private final Class<?> entityType;
+
+    LikeTarget(Class<?> entityType) {
+        this.entityType = entityType;
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+}
@@ -0,0 +1,15 @@
+package com.skillsynclab.backend.model;
+
+import lombok.Data;
+
+// Outcome of extracting embedded data-URI images into the media store
+@Data
+public class MediaMigrationReport {
+    private int recipesUpdated;
+    private int discussionsUpdated;
+    private int learningPlansUpdated;
+    private int imagesExtracted;
+    // Documents that changed under every attempt; the next run picks them up
+    private int skipped;
+    private int failures;
+}
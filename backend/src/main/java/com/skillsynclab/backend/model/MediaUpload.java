@@ -0,0 +1,14 @@
+package com.skillsynclab.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Response of POST /api/media: the short URL to store on recipes/discussions instead of a data URI
+@Data
+@AllArgsConstructor
+public class MediaUpload {
+    private String id;
+    private String url;
+    private String contentType;
+    private long size;
+}
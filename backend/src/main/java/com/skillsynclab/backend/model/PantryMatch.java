@@ -0,0 +1,17 @@
+package com.skillsynclab.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// A recipe ranked against a pantry: how much of its ingredient list the pantry covers and what is missing
+@Data
+@AllArgsConstructor
+public class PantryMatch {
+    private RecipeSummary recipe;
+    private int matchedIngredients;
+    private int totalIngredients;
+    private double coverage;
+    private List<String> missing;
+}
@@ -0,0 +1,13 @@
+package com.skillsynclab.backend.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Body of POST /api/recipes/by-ingredients
+@Data
+public class PantryRequest {
+    private List<String> pantry;
+    private Integer limit;
+    private Double minCoverage; // 0..1, fraction of a recipe's ingredients the pantry must cover
+}
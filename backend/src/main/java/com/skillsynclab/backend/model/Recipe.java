@@ -1,32 +1,65 @@
 package com.skillsynclab.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+// Compound indexes backing the keyset-paginated feed (each one matches a RecipeSort mode) and the
+// facet filters, so that every page is a bounded index range scan instead of a collection scan.
+// The @TextIndexed fields (plus Ingredient.name) form the single weighted text index used by search.
 @Document(collection = "recipes")
-public class Recipe {
+@CompoundIndexes({
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "likes_id", def = "{'likes': -1, '_id': -1}"),
+        @CompoundIndex(name = "totalTime_id", def = "{'totalTime': 1, '_id': 1}"),
+        // Facet filters, each followed by the newest-first order of the results page
+        @CompoundIndex(name = "categories_createdAt", def = "{'categories': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "tags_createdAt", def = "{'tags': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "difficulty_createdAt", def = "{'difficulty': 1, 'createdAt': -1, '_id': -1}"),
+        // Incremental export (updatedAt >= since)
+        @CompoundIndex(name = "updatedAt_id", def = "{'updatedAt': 1, '_id': 1}")
+})
+public class Recipe implements Authored {
+
+    // Bump when RecipeNormalizer starts producing a different shape; older documents are
+    // normalized on read until RecipeBackfillService rewrites them.
+    public static final int CURRENT_SCHEMA_VERSION = 1;
 
     @Id
     private String id;
+    @TextIndexed(weight = 10)
     private String title;
+    @TextIndexed
     private String description;
     private List<String> imageUrls;
     private String videoUrl;
     private Integer preparationTime;
     private Integer cookingTime;
+    private Integer totalTime; // preparationTime + cookingTime, maintained on write for sorting
     private Integer servings;
     private String difficulty;
     private List<Ingredient> ingredients;
     private List<Step> steps;
+    @TextIndexed(weight = 3)
     private List<String> categories;
+    @TextIndexed(weight = 5)
     private List<String> tags;
-    private Author author;
+    private String authorId;
+    @ReadOnlyProperty
+    private Author author; // hydrated from authorId, see Authored
     private Integer likes;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Integer schemaVersion;
+    @Version
+    private Long version; // incremented on every write; used as the entity tag for If-Match
 
     // Getters and Setters
     public String getId() {
@@ -85,6 +118,14 @@ public class Recipe {
         this.cookingTime = cookingTime;
     }
 
+    public Integer getTotalTime() {
+        return totalTime;
+    }
+
+    public void setTotalTime(Integer totalTime) {
+        this.totalTime = totalTime;
+    }
+
     public Integer getServings() {
         return servings;
     }
@@ -133,6 +174,14 @@ public class Recipe {
         this.tags = tags;
     }
 
+    public String getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(String authorId) {
+        this.authorId = authorId;
+    }
+
     public Author getAuthor() {
         return author;
     }
@@ -165,6 +214,22 @@ public class Recipe {
         this.updatedAt = updatedAt;
     }
 
+    public Integer getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public void setSchemaVersion(Integer schemaVersion) {
+        this.schemaVersion = schemaVersion;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Recipe{" +
@@ -175,16 +240,20 @@ public class Recipe {
                 ", videoUrl='" + videoUrl + '\'' +
                 ", preparationTime=" + preparationTime +
                 ", cookingTime=" + cookingTime +
+                ", totalTime=" + totalTime +
                 ", servings=" + servings +
                 ", difficulty='" + difficulty + '\'' +
                 ", ingredients=" + ingredients +
                 ", steps=" + steps +
                 ", categories=" + categories +
                 ", tags=" + tags +
+                ", authorId='" + authorId + '\'' +
                 ", author=" + author +
                 ", likes=" + likes +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", schemaVersion=" + schemaVersion +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
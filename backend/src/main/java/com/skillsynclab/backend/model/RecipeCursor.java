@@ -0,0 +1,74 @@
+package com.skillsynclab.backend.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque continuation token for the recipe feed.
+// It records the sort mode and the (sort key, _id) of the last recipe on the previous page;
+// clients only ever pass it back verbatim, so the encoding can change without breaking the API.
+public class RecipeCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final RecipeSort sort;
+    private final Object lastValue;
+    private final String lastId;
+
+    public RecipeCursor(RecipeSort sort, Object lastValue, String lastId) {
+        this.sort = sort;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    public static RecipeCursor after(RecipeSort sort, Recipe last) {
+        Object value;
+        switch (sort) {
+            case MOST_LIKED:
+                value = last.getLikes();
+                break;
+            case QUICKEST:
+                value = last.getTotalTime();
+                break;
+            default:
+                value = last.getCreatedAt();
+        }
+        return new RecipeCursor(sort, value, last.getId());
+    }
+
+    public RecipeSort getSort() {
+        return sort;
+    }
+
+    public Object getLastValue() {
+        return lastValue;
+    }
+
+    public String getLastId() {
+        return lastId;
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + (lastValue != null ? lastValue.toString() : "") + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RecipeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !parts[2].matches("^[0-9a-fA-F]{24}$")) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            RecipeSort sort = RecipeSort.valueOf(parts[0]);
+            Object value = null;
+            if (!parts[1].isEmpty()) {
+                value = sort == RecipeSort.NEWEST ? LocalDateTime.parse(parts[1]) : Integer.valueOf(parts[1]);
+            }
+            return new RecipeCursor(sort, value, parts[2]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
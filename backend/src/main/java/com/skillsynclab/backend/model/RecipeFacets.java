@@ -0,0 +1,18 @@
+package com.skillsynclab.backend.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Response of GET /api/recipes/facets: the first page of matching recipes plus per-facet counts
+// over all matching recipes. totalTime counts are bucketed (see RecipeRepositoryImpl.TOTAL_TIME_BUCKETS).
+@Data
+public class RecipeFacets {
+    private List<RecipeSummary> items = new ArrayList<>();
+    private long total;
+    private List<FacetCount> categories = new ArrayList<>();
+    private List<FacetCount> tags = new ArrayList<>();
+    private List<FacetCount> difficulty = new ArrayList<>();
+    private List<FacetCount> totalTime = new ArrayList<>();
+}
@@ -0,0 +1,44 @@
+package com.skillsynclab.backend.model;
+
+import org.springframework.data.domain.Sort;
+
+// Sort modes supported by the paginated recipe feed.
+// Each mode sorts on a single key plus _id as a tie-breaker, which is what makes the
+// (key, _id) pair usable as a stable keyset cursor. Every mode has a matching compound index on Recipe.
+public enum RecipeSort {
+    NEWEST("createdAt", Sort.Direction.DESC),
+    MOST_LIKED("likes", Sort.Direction.DESC),
+    QUICKEST("totalTime", Sort.Direction.ASC);
+
+    private final String field;
+    private final Sort.Direction direction;
+
+    RecipeSort(String field, Sort.Direction direction) {
+        this.field = field;
+        this.direction = direction;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Sort toSort() {
+        return Sort.by(direction, field).and(Sort.by(direction, "_id"));
+    }
+
+    // Accepts "newest", "most_liked", "most-liked", "quickest" (case-insensitive); null means NEWEST
+    public static RecipeSort fromParam(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return NEWEST;
+        }
+        try {
+            return RecipeSort.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported sort mode: " + value);
+        }
+    }
+}
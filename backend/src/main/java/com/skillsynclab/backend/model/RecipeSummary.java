@@ -0,0 +1,55 @@
+package com.skillsynclab.backend.model;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Card-sized read model of a recipe for list views.
+// Built from a field projection (see RecipeRepositoryImpl.CARD_FIELDS), so ingredients, steps,
+// description and all but the first image are never read from Mongo or serialized.
+@Data
+public class RecipeSummary {
+    private String id;
+    private String title;
+    private String imageUrl;
+    private Integer totalTime;
+    private String difficulty;
+    private Integer likes;
+    private String authorId;
+    private String authorName;
+    private String authorAvatarUrl;
+    private LocalDateTime createdAt;
+
+    public static RecipeSummary from(Recipe recipe) {
+        RecipeSummary summary = new RecipeSummary();
+        summary.setId(recipe.getId());
+        summary.setTitle(recipe.getTitle() != null ? recipe.getTitle() : "Untitled Recipe");
+        List<String> imageUrls = recipe.getImageUrls();
+        summary.setImageUrl(imageUrls != null && !imageUrls.isEmpty() ? imageUrls.get(0) : null);
+        if (recipe.getTotalTime() != null) {
+            summary.setTotalTime(recipe.getTotalTime());
+        } else {
+            int preparation = recipe.getPreparationTime() != null ? recipe.getPreparationTime() : 0;
+            int cooking = recipe.getCookingTime() != null ? recipe.getCookingTime() : 0;
+            summary.setTotalTime(preparation + cooking);
+        }
+        summary.setDifficulty(recipe.getDifficulty() != null ? recipe.getDifficulty() : "Easy");
+        summary.setLikes(recipe.getLikes() != null ? recipe.getLikes() : 0);
+        summary.setAuthorId(recipe.getAuthorId());
+        summary.applyAuthor(recipe.getAuthor());
+        summary.setCreatedAt(recipe.getCreatedAt());
+        return summary;
+    }
+
+    public void applyAuthor(Author author) {
+        if (author == null) {
+            return;
+        }
+        if (authorId == null) {
+            authorId = author.getId();
+        }
+        authorName = author.getName() != null ? author.getName() : author.getUsername();
+        authorAvatarUrl = author.getProfileImageUrl();
+    }
+}
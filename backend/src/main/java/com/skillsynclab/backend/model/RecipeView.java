@@ -0,0 +1,18 @@
+package com.skillsynclab.backend.model;
+
+// Shape of recipes returned by list endpoints: the full document, or the lightweight card projection
+public enum RecipeView {
+    FULL,
+    CARD;
+
+    public static RecipeView fromParam(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return FULL;
+        }
+        try {
+            return RecipeView.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported view: " + value);
+        }
+    }
+}
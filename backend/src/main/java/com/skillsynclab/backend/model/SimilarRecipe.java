@@ -0,0 +1,12 @@
+package com.skillsynclab.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// A recipe similar to another one, with their Jaccard similarity over ingredients, tags and categories
+@Data
+@AllArgsConstructor
+public class SimilarRecipe {
+    private RecipeSummary recipe;
+    private double similarity;
+}
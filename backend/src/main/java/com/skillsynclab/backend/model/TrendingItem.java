@@ -0,0 +1,15 @@
+package com.skillsynclab.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// One entry of the trending feed: a recipe or a discussion card (the other is null) and its score,
+// engagement decayed by age at the time the feed was computed
+@Data
+@AllArgsConstructor
+public class TrendingItem {
+    private String type; // "recipe" or "discussion"
+    private double score;
+    private RecipeSummary recipe;
+    private DiscussionSummary discussion;
+}
@@ -0,0 +1,16 @@
+package com.skillsynclab.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// The trending feed for one category (null = everything), best first
+@Data
+@AllArgsConstructor
+public class TrendingPage {
+    private String category;
+    private LocalDateTime computedAt;
+    private List<TrendingItem> items;
+}
@@ -4,5 +4,5 @@ package com.skillsynclab.backend.repository;
 import com.skillsynclab.backend.model.Recipe;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface RecipeRepository extends MongoRepository<Recipe, String> {
-}
\ No newline at end of file
+public interface RecipeRepository extends MongoRepository<Recipe, String>, RecipeRepositoryCustom {
+}
@@ -0,0 +1,38 @@
+package com.skillsynclab.backend.repository;
+
+import com.skillsynclab.backend.model.FieldSelection;
+import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.model.RecipeFacets;
+import com.skillsynclab.backend.model.RecipeCursor;
+import com.skillsynclab.backend.model.RecipeSort;
+import com.skillsynclab.backend.model.RecipeView;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.Collection;
+import java.util.List;
+
+// Query methods on recipes that need MongoTemplate rather than derived queries.
+public interface RecipeRepositoryCustom {
+
+    // Returns up to limit recipes in the given sort order, strictly after the cursor position (null = first page).
+    // With RecipeView.CARD only the fields needed for a RecipeSummary are read; with a field selection
+    // (full view only, null = all) only those fields and the ones the service needs.
+    List<Recipe> findPage(RecipeSort sort, RecipeCursor cursor, int limit, RecipeView view, FieldSelection fields);
+
+    // The selected fields of one recipe, plus those the service needs; null if it does not exist
+    Recipe findSelected(String id, FieldSelection fields);
+
+    // Full-text search over the weighted text index, best match first, as card projections.
+    // difficulty and maxTotalTime are optional filters.
+    List<Recipe> search(String text, String difficulty, Integer maxTotalTime, int offset, int limit);
+
+    // Card projections of the given recipes in one $in query, in no particular order
+    List<Recipe> findCardsByIds(Collection<String> ids);
+
+    // Card projections plus categories of the recipes matching the filter, in no particular order
+    List<Recipe> findCategorizedCards(Criteria filter);
+
+    // The first `limit` recipes matching the filter (newest first, as cards) and, when withCounts is
+    // set, the total and per-facet counts over all matches, computed in a single $facet aggregation.
+    RecipeFacets findFacets(Criteria filter, int limit, boolean withCounts);
+}
@@ -0,0 +1,271 @@
+package com.skillsynclab.backend.repository;
+
+import com.skillsynclab.backend.model.FacetCount;
+import com.skillsynclab.backend.model.FieldSelection;
+import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.model.RecipeCursor;
+import com.skillsynclab.backend.model.RecipeFacets;
+import com.skillsynclab.backend.model.RecipeSort;
+import com.skillsynclab.backend.model.RecipeSummary;
+import com.skillsynclab.backend.model.RecipeView;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class RecipeRepositoryImpl implements RecipeRepositoryCustom {
+
+    // Fields read for RecipeView.CARD; imageUrls is additionally $slice'd to its first element.
+    // preparationTime/cookingTime cover legacy documents written before totalTime existed.
+    static final String[] CARD_FIELDS = {
+            "title", "totalTime", "preparationTime", "cookingTime", "difficulty", "likes", "createdAt",
+            "authorId",
+            // still embedded in documents not yet moved to the authors collection
+            "author.id", "author.name", "author.username", "author.profileImageUrl"
+    };
+
+    // Lower bounds (minutes) of the totalTime facet buckets; anything above the last is "120+"
+    static final int[] TOTAL_TIME_BUCKETS = {0, 15, 30, 60, 120};
+    static final String TOTAL_TIME_OVERFLOW = "120+";
+    // Most frequent values returned per category/tag facet
+    static final int MAX_FACET_VALUES = 50;
+
+    // Fields matched by the regex search used where there is no text index
+    static final String[] SEARCH_FIELDS = {"title", "description", "tags", "categories", "ingredients.name"};
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean textIndex;
+
+    public RecipeRepositoryImpl(MongoTemplate mongoTemplate, @Value("${app.search.text-index:true}") boolean textIndex) {
+        this.mongoTemplate = mongoTemplate;
+        this.textIndex = textIndex;
+    }
+
+    @Override
+    public List<Recipe> findPage(RecipeSort sort, RecipeCursor cursor, int limit, RecipeView view, FieldSelection fields) {
+        Query query = new Query();
+        if (cursor != null) {
+            query.addCriteria(keysetAfter(sort, cursor.getLastValue(), new ObjectId(cursor.getLastId())));
+        }
+        if (view == RecipeView.CARD) {
+            applyCardProjection(query);
+        } else if (fields != null) {
+            // the sort key positions the next cursor
+            fields.applyTo(query, withServiceFields(sort.getField()));
+        }
+        query.with(sort.toSort()).limit(limit);
+        return mongoTemplate.find(query, Recipe.class);
+    }
+
+    @Override
+    public Recipe findSelected(String id, FieldSelection fields) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        fields.applyTo(query, withServiceFields());
+        return mongoTemplate.findOne(query, Recipe.class);
+    }
+
+    // schemaVersion decides whether a legacy document needs normalizing; version and updatedAt are
+    // the response's validators
+    private static String[] withServiceFields(String... more) {
+        List<String> fields = new ArrayList<>(List.of("schemaVersion", "version", "updatedAt"));
+        fields.addAll(List.of(more));
+        return fields.toArray(new String[0]);
+    }
+
+    @Override
+    public List<Recipe> search(String text, String difficulty, Integer maxTotalTime, int offset, int limit) {
+        if (!textIndex) {
+            return searchByRegex(text, difficulty, maxTotalTime, offset, limit);
+        }
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text));
+        if (difficulty != null) {
+            query.addCriteria(Criteria.where("difficulty").is(difficulty));
+        }
+        if (maxTotalTime != null) {
+            query.addCriteria(Criteria.where("totalTime").lte(maxTotalTime));
+        }
+        applyCardProjection(query);
+        query.sortByScore().skip(offset).limit(limit);
+        return mongoTemplate.find(query, Recipe.class);
+    }
+
+    // Stand-in for search on storage without text indexes (the in-memory profile): recipes with any
+    // of the words in one of SEARCH_FIELDS, case-insensitively, newest first instead of by relevance.
+    private List<Recipe> searchByRegex(String text, String difficulty, Integer maxTotalTime, int offset, int limit) {
+        List<Criteria> matches = new ArrayList<>();
+        for (String word : text.trim().split("\\s+")) {
+            Pattern pattern = Pattern.compile(Pattern.quote(word), Pattern.CASE_INSENSITIVE);
+            for (String field : SEARCH_FIELDS) {
+                matches.add(Criteria.where(field).regex(pattern));
+            }
+        }
+        Query query = Query.query(new Criteria().orOperator(matches));
+        if (difficulty != null) {
+            query.addCriteria(Criteria.where("difficulty").is(difficulty));
+        }
+        if (maxTotalTime != null) {
+            query.addCriteria(Criteria.where("totalTime").lte(maxTotalTime));
+        }
+        applyCardProjection(query);
+        query.with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id"))).skip(offset).limit(limit);
+        return mongoTemplate.find(query, Recipe.class);
+    }
+
+    @Override
+    public List<Recipe> findCardsByIds(Collection<String> ids) {
+        Query query = Query.query(Criteria.where("id").in(ids));
+        applyCardProjection(query);
+        return mongoTemplate.find(query, Recipe.class);
+    }
+
+    @Override
+    public List<Recipe> findCategorizedCards(Criteria filter) {
+        Query query = Query.query(filter);
+        applyCardProjection(query);
+        query.fields().include("categories");
+        return mongoTemplate.find(query, Recipe.class);
+    }
+
+    @Override
+    public RecipeFacets findFacets(Criteria filter, int limit, boolean withCounts) {
+        Sort newest = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id"));
+        RecipeFacets facets = new RecipeFacets();
+        if (!withCounts) {
+            Query query = Query.query(filter).with(newest).limit(limit);
+            applyCardProjection(query);
+            for (Recipe recipe : mongoTemplate.find(query, Recipe.class)) {
+                facets.getItems().add(RecipeSummary.from(recipe));
+            }
+            return facets;
+        }
+        Object[] boundaries = new Object[TOTAL_TIME_BUCKETS.length];
+        for (int i = 0; i < boundaries.length; i++) {
+            boundaries[i] = TOTAL_TIME_BUCKETS[i];
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(filter),
+                Aggregation.facet(
+                                Aggregation.sort(newest),
+                                Aggregation.limit(limit),
+                                cardProjectionStage())
+                        .as("items")
+                        .and(Aggregation.unwind("categories"), Aggregation.sortByCount("categories"),
+                                Aggregation.limit(MAX_FACET_VALUES))
+                        .as("categories")
+                        .and(Aggregation.unwind("tags"), Aggregation.sortByCount("tags"),
+                                Aggregation.limit(MAX_FACET_VALUES))
+                        .as("tags")
+                        .and(Aggregation.sortByCount("difficulty"))
+                        .as("difficulty")
+                        .and(Aggregation.bucket(storedTotalTime()).withBoundaries(boundaries)
+                                .withDefaultBucket(TOTAL_TIME_OVERFLOW))
+                        .as("totalTime")
+                        .and(Aggregation.count().as("count"))
+                        .as("total"));
+        Document result = mongoTemplate.aggregate(aggregation, Recipe.class, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            return facets;
+        }
+        for (Document item : result.getList("items", Document.class)) {
+            facets.getItems().add(RecipeSummary.from(mongoTemplate.getConverter().read(Recipe.class, item)));
+        }
+        List<Document> total = result.getList("total", Document.class);
+        facets.setTotal(total.isEmpty() ? 0 : total.get(0).get("count", Number.class).longValue());
+        facets.setCategories(toCounts(result.getList("categories", Document.class)));
+        facets.setTags(toCounts(result.getList("tags", Document.class)));
+        facets.setDifficulty(toCounts(result.getList("difficulty", Document.class)));
+        List<FacetCount> totalTime = new ArrayList<>();
+        for (Document bucket : result.getList("totalTime", Document.class)) {
+            totalTime.add(new FacetCount(totalTimeLabel(bucket.get("_id")), bucket.get("count", Number.class).longValue()));
+        }
+        facets.setTotalTime(totalTime);
+        return facets;
+    }
+
+    // totalTime as reads report it: legacy documents written before it was stored get
+    // preparationTime + cookingTime (missing parts count as 0), like RecipeNormalizer
+    private static AggregationExpression storedTotalTime() {
+        return ConditionalOperators.ifNull("totalTime").thenValueOf(
+                ArithmeticOperators.Add.valueOf(ConditionalOperators.ifNull("preparationTime").then(0))
+                        .add(ConditionalOperators.ifNull("cookingTime").then(0)));
+    }
+
+    // The card projection as a raw $project stage: ProjectionOperation would alias "author.id"
+    // to a top-level "id" instead of keeping the nested path. Field names still go through the
+    // mapping context, which stores author.id as author._id.
+    private static AggregationOperation cardProjectionStage() {
+        Document projection = new Document();
+        for (String field : CARD_FIELDS) {
+            projection.append(field, 1);
+        }
+        projection.append("imageUrls", new Document("$slice", List.of("$imageUrls", 1)));
+        return context -> context.getMappedObject(new Document("$project", projection), Recipe.class);
+    }
+
+    private static List<FacetCount> toCounts(List<Document> buckets) {
+        List<FacetCount> counts = new ArrayList<>(buckets.size());
+        for (Document bucket : buckets) {
+            Object value = bucket.get("_id");
+            if (value != null) {
+                counts.add(new FacetCount(value.toString(), bucket.get("count", Number.class).longValue()));
+            }
+        }
+        return counts;
+    }
+
+    // $bucket labels each bucket by its lower boundary; turn that into "15-30" style ranges
+    private static String totalTimeLabel(Object lowerBound) {
+        if (lowerBound instanceof Number number) {
+            for (int i = 0; i < TOTAL_TIME_BUCKETS.length - 1; i++) {
+                if (TOTAL_TIME_BUCKETS[i] == number.intValue()) {
+                    return TOTAL_TIME_BUCKETS[i] + "-" + TOTAL_TIME_BUCKETS[i + 1];
+                }
+            }
+        }
+        return TOTAL_TIME_OVERFLOW;
+    }
+
+    static void applyCardProjection(Query query) {
+        query.fields().include(CARD_FIELDS).slice("imageUrls", 1);
+    }
+
+    // Builds the "strictly after (value, id)" predicate for the given sort order.
+    // Mongo sorts null/missing keys lowest and $lt/$gt never match null, so legacy documents
+    // without the sort key need their own branch to stay reachable from the cursor.
+    static Criteria keysetAfter(RecipeSort sort, Object value, ObjectId id) {
+        String field = sort.getField();
+        boolean desc = sort.getDirection() == Sort.Direction.DESC;
+        if (desc) {
+            if (value == null) {
+                return new Criteria().andOperator(Criteria.where(field).is(null), Criteria.where("_id").lt(id));
+            }
+            return new Criteria().orOperator(
+                    Criteria.where(field).lt(value),
+                    new Criteria().andOperator(Criteria.where(field).is(value), Criteria.where("_id").lt(id)),
+                    Criteria.where(field).is(null));
+        }
+        if (value == null) {
+            return new Criteria().orOperator(
+                    new Criteria().andOperator(Criteria.where(field).is(null), Criteria.where("_id").gt(id)),
+                    Criteria.where(field).ne(null));
+        }
+        return new Criteria().orOperator(
+                Criteria.where(field).gt(value),
+                new Criteria().andOperator(Criteria.where(field).is(value), Criteria.where("_id").gt(id)));
+    }
+}
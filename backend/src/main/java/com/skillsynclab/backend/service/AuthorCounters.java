@@ -0,0 +1,170 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.Author;
+import com.skillsynclab.backend.model.LearningPlan;
+import com.skillsynclab.backend.model.Recipe;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Server-maintained Author.recipes and Author.learningPlans.
+// Each batch of content events is coalesced into one net delta per author and written as a single
+// unordered bulk of $inc updates; when part of the bulk fails, only the events of the authors it
+// failed for are handed back to the pipeline for replay. repair() recounts from the content
+// collections for when the counters have drifted (failed batches that were never replayed, content
+// whose author is still only embedded because it was not migrated yet).
+// There is no follow graph yet, so followers and following stay at zero.
+@Component
+public class AuthorCounters implements ContentEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorCounters.class);
+
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private DocumentCache<Author> authorCache;
+
+    @Autowired
+    private ContentEventPipeline contentEvents;
+
+    @Override
+    public void onEvents(List<ContentEvent> events) {
+        // authorId -> {recipes, learningPlans}
+        Map<String, int[]> deltas = new LinkedHashMap<>();
+        for (ContentEvent event : events) {
+            if (event.authorId() == null || event.kind() == ContentEvent.Kind.DISCUSSION) {
+                continue;
+            }
+            int[] delta = deltas.computeIfAbsent(event.authorId(), id -> new int[2]);
+            int index = event.kind() == ContentEvent.Kind.RECIPE ? 0 : 1;
+            delta[index] += event.type() == ContentEvent.Type.CREATED ? 1 : -1;
+        }
+        // Insertion order is the order of the bulk's updates, which its errors refer to by index
+        List<String> written = new ArrayList<>(deltas.size());
+        BulkOperations bulk = null;
+        for (Map.Entry<String, int[]> entry : deltas.entrySet()) {
+            int[] delta = entry.getValue();
+            if (delta[0] == 0 && delta[1] == 0) {
+                continue; // created and deleted within the batch
+            }
+            written.add(entry.getKey());
+            Update update = new Update();
+            if (delta[0] != 0) {
+                update.inc("recipes", delta[0]);
+            }
+            if (delta[1] != 0) {
+                update.inc("learningPlans", delta[1]);
+            }
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Author.class);
+            }
+            bulk.updateOne(Query.query(Criteria.where("id").is(entry.getKey())), update);
+        }
+        if (bulk == null) {
+            return;
+        }
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // The bulk is unordered: every update not named in the errors was applied, and replaying
+            // the whole batch would count it twice. Only the failed authors' events go back.
+            Set<String> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(written.get(error.getIndex()));
+            }
+            written.stream().filter(id -> !failed.contains(id)).forEach(authorCache::invalidate);
+            List<ContentEvent> unapplied = events.stream().filter(event -> failed.contains(event.authorId())).toList();
+            throw new ContentEventListener.PartialFailure(unapplied, e);
+        }
+        written.forEach(authorCache::invalidate);
+        logger.debug("Applied author counter deltas for {} authors from {} events", written.size(), events.size());
+    }
+
+    // Recounts every author's recipes and learning plans (and zeroes followers/following).
+    // Queued events are applied first; writes made while the recount runs can still be off by
+    // their own events, so this is meant for quiet periods. Returns the number of authors changed.
+    public int repair() {
+        contentEvents.drain();
+        Map<String, Integer> recipes = countByAuthor(mongoTemplate.getCollectionName(Recipe.class));
+        Map<String, Integer> learningPlans = countByAuthor(mongoTemplate.getCollectionName(LearningPlan.class));
+        Query query = new Query();
+        query.fields().include("recipes").include("learningPlans").include("followers").include("following");
+        int changed = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        try (Stream<Author> stream = mongoTemplate.stream(query, Author.class)) {
+            Iterator<Author> authors = stream.iterator();
+            while (authors.hasNext()) {
+                Author author = authors.next();
+                int recipeCount = recipes.getOrDefault(author.getId(), 0);
+                int learningPlanCount = learningPlans.getOrDefault(author.getId(), 0);
+                if (author.getRecipes() != null && author.getRecipes() == recipeCount
+                        && author.getLearningPlans() != null && author.getLearningPlans() == learningPlanCount
+                        && Integer.valueOf(0).equals(author.getFollowers()) && Integer.valueOf(0).equals(author.getFollowing())) {
+                    continue;
+                }
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Author.class);
+                }
+                bulk.updateOne(Query.query(Criteria.where("id").is(author.getId())), new Update()
+                        .set("recipes", recipeCount)
+                        .set("learningPlans", learningPlanCount)
+                        .set("followers", 0)
+                        .set("following", 0));
+                changed++;
+                if (++pending == WRITE_BATCH_SIZE) {
+                    bulk.execute();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (bulk != null) {
+            bulk.execute();
+        }
+        authorCache.invalidateAll();
+        logger.info("Repaired author counters: {} authors changed", changed);
+        return changed;
+    }
+
+    // Content not migrated yet only has the embedded author, stored as author._id (an ObjectId
+    // where the id is one), so that is counted too, the way AuthorService.storedAuthorId reads it
+    private Map<String, Integer> countByAuthor(String collection) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(new Criteria().orOperator(
+                        Criteria.where("authorId").ne(null), Criteria.where("author._id").ne(null))),
+                Aggregation.project().and(ConvertOperators.ToString.toString(
+                        ConditionalOperators.ifNull("authorId").thenValueOf("author._id"))).as("owner"),
+                Aggregation.group("owner").count().as("count"));
+        Map<String, Integer> counts = new HashMap<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, collection, Document.class)) {
+            counts.put(group.getString("_id"), group.get("count", Number.class).intValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,171 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.Author;
+import com.skillsynclab.backend.model.AuthorMigrationReport;
+import com.skillsynclab.backend.model.Comment;
+import com.skillsynclab.backend.model.Discussion;
+import com.skillsynclab.backend.model.LearningPlan;
+import com.skillsynclab.backend.model.Recipe;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// One-time migration that moves the author copies embedded in recipes, discussions (including
+// their comment previews), learning plans and comments into the "authors" collection, one profile
+// per author id, and replaces each copy with an authorId.
+// Documents are visited newest first and profiles are only ever inserted, so the newest embedded
+// copy of an author wins and profiles created or edited since the switch are kept. Each batch
+// inserts its profiles before rewriting its documents. Only documents that still embed an author
+// are matched, so re-running it is safe.
+@Service
+public class AuthorMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorMigrationService.class);
+
+    private static final int CURSOR_BATCH_SIZE = 128;
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private DocumentCache<Recipe> recipeCache;
+
+    @Autowired
+    private DocumentCache<Discussion> discussionCache;
+
+    @Autowired
+    private DocumentCache<LearningPlan> learningPlanCache;
+
+    @Autowired
+    private DocumentCache<Author> authorCache;
+
+    public AuthorMigrationReport migrateEmbeddedAuthors() {
+        AuthorMigrationReport report = new AuthorMigrationReport();
+        Set<String> authorIds = new HashSet<>();
+        report.setRecipesUpdated(migrate(Recipe.class, false, authorIds));
+        report.setDiscussionsUpdated(migrate(Discussion.class, true, authorIds));
+        report.setLearningPlansUpdated(migrate(LearningPlan.class, false, authorIds));
+        report.setCommentsUpdated(migrate(Comment.class, false, authorIds));
+        report.setDistinctAuthors(authorIds.size());
+        // Cached documents still carry their embedded copies
+        recipeCache.invalidateAll();
+        discussionCache.invalidateAll();
+        learningPlanCache.invalidateAll();
+        authorCache.invalidateAll();
+        logger.info("Author migration finished: {}", report);
+        return report;
+    }
+
+    private int migrate(Class<?> entityType, boolean withPreviews, Set<String> authorIds) {
+        String collection = mongoTemplate.getCollectionName(entityType);
+        Criteria criteria = withPreviews
+                ? new Criteria().orOperator(Criteria.where("author").exists(true), Criteria.where("comments.author").exists(true))
+                : Criteria.where("author").exists(true);
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.DESC, "_id"));
+        query.fields().include("author");
+        if (withPreviews) {
+            query.fields().include("comments").include("commentCount");
+        }
+        query.cursorBatchSize(CURSOR_BATCH_SIZE);
+        int updated = 0;
+        List<Document> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        try (Stream<Document> stream = mongoTemplate.stream(query, Document.class, collection)) {
+            Iterator<Document> documents = stream.iterator();
+            while (documents.hasNext()) {
+                batch.add(documents.next());
+                if (batch.size() == WRITE_BATCH_SIZE) {
+                    updated += migrateBatch(collection, batch, withPreviews, authorIds);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            updated += migrateBatch(collection, batch, withPreviews, authorIds);
+        }
+        logger.info("Moved embedded authors out of {} {} documents", updated, collection);
+        return updated;
+    }
+
+    private int migrateBatch(String collection, List<Document> batch, boolean withPreviews, Set<String> authorIds) {
+        // Keyed by the stored _id (an ObjectId for hex ids), so profiles land exactly where the
+        // Author mapping looks them up; the first, newest copy of each author is kept
+        Map<Object, Document> profiles = new LinkedHashMap<>();
+        BulkOperations rewrites = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        for (Document document : batch) {
+            Query target = Query.query(Criteria.where("_id").is(document.get("_id")));
+            Update update = new Update();
+            Document author = document.get("author", Document.class);
+            if (author != null) {
+                Object id = storedId(author);
+                if (id != null) {
+                    profiles.putIfAbsent(id, author);
+                    update.set("authorId", idString(id));
+                }
+                update.unset("author");
+            }
+            List<Document> comments = withPreviews ? document.getList("comments", Document.class) : null;
+            if (comments != null && comments.stream().anyMatch(comment -> comment.containsKey("author"))) {
+                List<Document> rewritten = new ArrayList<>(comments.size());
+                for (Document comment : comments) {
+                    Document copy = new Document(comment);
+                    Object embedded = copy.remove("author");
+                    if (embedded instanceof Document commentAuthor && storedId(commentAuthor) != null) {
+                        profiles.putIfAbsent(storedId(commentAuthor), commentAuthor);
+                        copy.put("authorId", idString(storedId(commentAuthor)));
+                    }
+                    rewritten.add(copy);
+                }
+                update.set("comments", rewritten);
+                // A comment pushed after the read would be lost by the $set; such a discussion is
+                // left for the next run (until then it is served from its embedded copies)
+                target = Query.query(Criteria.where("_id").is(document.get("_id")).and("commentCount").is(document.get("commentCount")));
+            }
+            rewrites.updateOne(target, update);
+        }
+        if (!profiles.isEmpty()) {
+            BulkOperations inserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, mongoTemplate.getCollectionName(Author.class));
+            for (Map.Entry<Object, Document> entry : profiles.entrySet()) {
+                Update update = new Update();
+                for (Map.Entry<String, Object> field : entry.getValue().entrySet()) {
+                    if (!field.getKey().equals("_id") && !field.getKey().equals("id") && !field.getKey().equals("_class")) {
+                        update.setOnInsert(field.getKey(), field.getValue());
+                    }
+                }
+                if (update.getUpdateObject().isEmpty()) {
+                    update.setOnInsert("name", "Unknown User");
+                }
+                inserts.upsert(Query.query(Criteria.where("_id").is(entry.getKey())), update);
+                authorIds.add(idString(entry.getKey()));
+            }
+            inserts.execute();
+        }
+        return rewrites.execute().getModifiedCount();
+    }
+
+    private static Object storedId(Document author) {
+        return author.get("_id") != null ? author.get("_id") : author.get("id");
+    }
+
+    private static String idString(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : id.toString();
+    }
+}
@@ -0,0 +1,203 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.Author;
+import com.skillsynclab.backend.model.Authored;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Author profiles.
+// Each author is stored once in the "authors" collection; recipes, discussions, learning plans and
+// comments keep only an authorId. Responses are hydrated page by page: the distinct author ids of a
+// page are resolved through the author cache, and the ids it misses are read in one $in query.
+@Service
+public class AuthorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorService.class);
+
+    public static final String UNKNOWN_AUTHOR_ID = "unknown";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private DocumentCache<Author> authorCache;
+
+    public Optional<Author> getAuthor(String id) {
+        validateId(id);
+        return authorCache.get(id, key -> Optional.ofNullable(mongoTemplate.findById(key, Author.class)));
+    }
+
+    // Replaces the profile fields; the counters are server-maintained (see AuthorCounters) and
+    // are not taken from the request. Returns null if there is no author with this ID.
+    public Author updateAuthor(String id, Author profile) {
+        validateId(id);
+        if (profile == null) {
+            throw new IllegalArgumentException("Author profile is required");
+        }
+        Author values = withDefaults(id, profile);
+        Update update = new Update()
+                .set("username", values.getUsername())
+                .set("name", values.getName())
+                .set("bio", values.getBio())
+                .set("profileImageUrl", values.getProfileImageUrl());
+        Author saved = mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(id)), update,
+                FindAndModifyOptions.options().returnNew(true), Author.class);
+        authorCache.invalidate(id);
+        if (saved != null) {
+            logger.info("Updated profile of author {}", id);
+        }
+        return saved;
+    }
+
+    // Points a document that is about to be written at its author: authorId is taken from the
+    // author object sent by the client, and a profile is created for authors seen for the first time.
+    // Existing profiles are left as they are (they change through updateAuthor), so a client sending
+    // a stale copy of the author cannot overwrite a newer profile. Counters start at zero whatever
+    // the client sent; AuthorCounters maintains them from then on.
+    public void register(Authored item) {
+        registerAll(List.of(item));
+    }
+
+    // register() for a batch, as one unordered bulk of upserts
+    public void registerAll(Collection<? extends Authored> items) {
+        Map<String, Author> profiles = new LinkedHashMap<>();
+        for (Authored item : items) {
+            Author author = item.getAuthor();
+            if (author == null || author.getId() == null || author.getId().trim().isEmpty()) {
+                continue;
+            }
+            item.setAuthorId(author.getId());
+            profiles.putIfAbsent(author.getId(), author);
+        }
+        if (profiles.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Author.class);
+        for (Map.Entry<String, Author> entry : profiles.entrySet()) {
+            Author values = withDefaults(entry.getKey(), entry.getValue());
+            Update update = new Update()
+                    .setOnInsert("username", values.getUsername())
+                    .setOnInsert("name", values.getName())
+                    .setOnInsert("bio", values.getBio())
+                    .setOnInsert("profileImageUrl", values.getProfileImageUrl())
+                    .setOnInsert("followers", 0)
+                    .setOnInsert("following", 0)
+                    .setOnInsert("recipes", 0)
+                    .setOnInsert("learningPlans", 0);
+            bulk.upsert(Query.query(Criteria.where("id").is(entry.getKey())), update);
+        }
+        bulk.execute();
+    }
+
+    // Sets author on each item from its authorId. Items that have no authorId yet (documents not
+    // migrated) keep the author they embed. Authors that no longer exist become a placeholder.
+    public void hydrate(Collection<? extends Authored> items) {
+        Set<String> ids = new HashSet<>();
+        for (Authored item : items) {
+            if (item != null && item.getAuthorId() != null) {
+                ids.add(item.getAuthorId());
+            }
+        }
+        Map<String, Author> authors = findAll(ids);
+        for (Authored item : items) {
+            if (item == null) {
+                continue;
+            }
+            if (item.getAuthorId() == null) {
+                if (item.getAuthor() != null) {
+                    item.setAuthorId(item.getAuthor().getId());
+                }
+                continue;
+            }
+            Author author = authors.get(item.getAuthorId());
+            if (author != null) {
+                item.setAuthor(author);
+            } else if (item.getAuthor() == null) {
+                item.setAuthor(withDefaults(item.getAuthorId(), null));
+            }
+        }
+    }
+
+    public void hydrate(Authored item) {
+        if (item != null) {
+            hydrate(List.of(item));
+        }
+    }
+
+    // The author a stored document points at: authorId, or the id of a legacy embedded copy
+    public static String storedAuthorId(Authored item) {
+        if (item.getAuthorId() != null) {
+            return item.getAuthorId();
+        }
+        return item.getAuthor() != null ? item.getAuthor().getId() : null;
+    }
+
+    // Removes one document and returns it with only its author fields read, or null if there was none
+    <T extends Authored> T removeReturningAuthor(String id, Class<T> entityType) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("authorId").include("author");
+        return mongoTemplate.findAndRemove(query, entityType);
+    }
+
+    // Profiles by id; ids without a profile are left out
+    public Map<String, Author> findAll(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return authorCache.getAll(ids, missing -> {
+            Map<String, Author> loaded = new HashMap<>();
+            for (Author author : mongoTemplate.find(Query.query(Criteria.where("id").in(missing)), Author.class)) {
+                loaded.put(author.getId(), author);
+            }
+            logger.debug("Loaded {} of {} uncached authors", loaded.size(), missing.size());
+            return loaded;
+        });
+    }
+
+    // A copy of the profile with every missing field defaulted
+    static Author withDefaults(String id, Author source) {
+        Author author = new Author(id, null, null, null, null, null, null, null, null);
+        if (source != null) {
+            author.setUsername(source.getUsername());
+            author.setName(source.getName());
+            author.setBio(source.getBio());
+            author.setProfileImageUrl(source.getProfileImageUrl());
+            author.setFollowers(source.getFollowers());
+            author.setFollowing(source.getFollowing());
+            author.setRecipes(source.getRecipes());
+            author.setLearningPlans(source.getLearningPlans());
+        }
+        if (author.getUsername() == null) author.setUsername("unknown");
+        if (author.getName() == null) author.setName("Unknown User");
+        if (author.getBio() == null) author.setBio("");
+        if (author.getProfileImageUrl() == null) author.setProfileImageUrl("");
+        if (author.getFollowers() == null) author.setFollowers(0);
+        if (author.getFollowing() == null) author.setFollowing(0);
+        if (author.getRecipes() == null) author.setRecipes(0);
+        if (author.getLearningPlans() == null) author.setLearningPlans(0);
+        return author;
+    }
+
+    private void validateId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("Author ID is required");
+        }
+    }
+}
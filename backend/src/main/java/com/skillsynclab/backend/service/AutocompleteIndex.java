@@ -0,0 +1,358 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.AutocompleteSuggestion;
+import com.skillsynclab.backend.model.AutocompleteType;
+import com.skillsynclab.backend.model.Ingredient;
+import com.skillsynclab.backend.model.Recipe;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// In-memory typeahead over recipe titles, ingredient names and tags (GET /api/autocomplete).
+// Each type is one immutable PrefixTable: the normalized keys sorted as UTF-8 bytes and packed into
+// a single byte[], so the keys starting with a prefix are one contiguous range found by two binary
+// searches, and a max-weight segment tree over that range yields its k most popular completions
+// without visiting the rest. Titles are also keyed from each later word ("cake" finds "Chocolate Cake").
+// Popularity is the number of recipes using a text plus their likes. The tables are rebuilt from
+// Mongo every app.autocomplete.rebuild-interval-ms on the scheduler and swapped in whole, so a
+// lookup never sees a half-built index; their size is published as the autocomplete.index.memory
+// gauge (bytes, per type) in /actuator/metrics.
+@Component
+public class AutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteIndex.class);
+
+    public static final int MAX_PREFIX_LENGTH = 100;
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    // Later words of a title that also start a key; bounds the keys of very long titles
+    private static final int MAX_TITLE_WORDS = 8;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final MongoTemplate mongoTemplate;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    private record Snapshot(Map<AutocompleteType, PrefixTable> tables, LocalDateTime builtAt) {
+    }
+
+    public AutocompleteIndex(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        for (AutocompleteType type : AutocompleteType.values()) {
+            String tag = type.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("autocomplete.index.memory", snapshot, current -> table(current, type).map(PrefixTable::memoryBytes).orElse(0L))
+                    .tag("type", tag)
+                    .baseUnit("bytes")
+                    .description("Heap used by the packed autocomplete table")
+                    .register(meterRegistry);
+            Gauge.builder("autocomplete.index.terms", snapshot, current -> table(current, type).map(PrefixTable::textCount).orElse(0))
+                    .tag("type", tag)
+                    .description("Distinct completions in the autocomplete table")
+                    .register(meterRegistry);
+        }
+    }
+
+    // When the tables being served were read from Mongo; null until the first build completes
+    public LocalDateTime builtAt() {
+        Snapshot current = snapshot.get();
+        return current != null ? current.builtAt() : null;
+    }
+
+    // The most popular completions of the prefix, most popular first; type null means every type
+    public List<AutocompleteSuggestion> suggest(String prefix, AutocompleteType type, Integer limit) {
+        int count = limit != null ? limit : DEFAULT_LIMIT;
+        if (count < 1 || count > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (prefix != null && prefix.length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("prefix must be at most " + MAX_PREFIX_LENGTH + " characters");
+        }
+        String key = prefix != null ? normalize(prefix) : "";
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("prefix is required");
+        }
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            throw new IllegalStateException("Autocomplete index is still being built");
+        }
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        List<AutocompleteSuggestion> suggestions = new ArrayList<>();
+        for (AutocompleteType t : type != null ? List.of(type) : List.of(AutocompleteType.values())) {
+            suggestions.addAll(current.tables().get(t).top(bytes, count, t));
+        }
+        if (type == null) {
+            suggestions.sort(Comparator.comparingLong(AutocompleteSuggestion::getWeight).reversed());
+            return new ArrayList<>(suggestions.subList(0, Math.min(count, suggestions.size())));
+        }
+        return suggestions;
+    }
+
+    @Scheduled(fixedDelayString = "${app.autocomplete.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime builtAt = LocalDateTime.now();
+        Map<AutocompleteType, TableBuilder> builders = new EnumMap<>(AutocompleteType.class);
+        for (AutocompleteType type : AutocompleteType.values()) {
+            builders.put(type, new TableBuilder());
+        }
+        Query query = new Query();
+        query.fields().include("title", "ingredients.name", "tags", "likes");
+        query.cursorBatchSize(1000);
+        try (Stream<Recipe> stream = mongoTemplate.stream(query, Recipe.class)) {
+            Iterator<Recipe> recipes = stream.iterator();
+            while (recipes.hasNext()) {
+                Recipe recipe = recipes.next();
+                long weight = 1 + Math.max(0, recipe.getLikes() != null ? recipe.getLikes() : 0);
+                builders.get(AutocompleteType.TITLE).add(recipe.getTitle(), weight);
+                if (recipe.getIngredients() != null) {
+                    Set<String> names = new HashSet<>(); // "2 eggs" and "egg" count once per recipe
+                    for (Ingredient ingredient : recipe.getIngredients()) {
+                        String name = IngredientIndex.normalize(ingredient.getName());
+                        if (names.add(name)) {
+                            builders.get(AutocompleteType.INGREDIENT).add(name, weight);
+                        }
+                    }
+                }
+                if (recipe.getTags() != null) {
+                    Set<String> tags = new HashSet<>();
+                    for (String tag : recipe.getTags()) {
+                        if (tag != null && tags.add(normalize(tag))) {
+                            builders.get(AutocompleteType.TAG).add(tag, weight);
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to rebuild autocomplete index, keeping the previous one: {}", e.getMessage());
+            return;
+        }
+        Map<AutocompleteType, PrefixTable> tables = new EnumMap<>(AutocompleteType.class);
+        builders.forEach((type, builder) -> tables.put(type, builder.build(type == AutocompleteType.TITLE)));
+        snapshot.set(new Snapshot(tables, builtAt));
+        logger.info("Rebuilt autocomplete index in {} ms: {}", System.currentTimeMillis() - start,
+                tables.entrySet().stream()
+                        .map(e -> e.getKey().name().toLowerCase(Locale.ROOT) + "=" + e.getValue().textCount()
+                                + " (" + e.getValue().memoryBytes() + " bytes)")
+                        .toList());
+    }
+
+    // Lower-cased, accents stripped and whitespace collapsed: "  Crème  Brûlée" -> "creme brulee"
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return SPACES.matcher(MARKS.matcher(decomposed).replaceAll("")).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Optional<PrefixTable> table(AtomicReference<Snapshot> snapshot, AutocompleteType type) {
+        Snapshot current = snapshot.get();
+        return Optional.ofNullable(current != null ? current.tables().get(type) : null);
+    }
+
+    // Distinct texts by normalized form, with their summed weight; the first spelling seen is displayed
+    static final class TableBuilder {
+        private final Map<String, String> displays = new LinkedHashMap<>();
+        private final Map<String, Long> weights = new LinkedHashMap<>();
+
+        void add(String text, long weight) {
+            if (text == null) {
+                return;
+            }
+            String key = normalize(text);
+            if (key.isEmpty()) {
+                return;
+            }
+            displays.putIfAbsent(key, SPACES.matcher(text.trim()).replaceAll(" "));
+            weights.merge(key, weight, Long::sum);
+        }
+
+        PrefixTable build(boolean wordStarts) {
+            int count = displays.size();
+            List<byte[]> keys = new ArrayList<>();
+            List<Integer> keyTargets = new ArrayList<>();
+            String[] texts = new String[count];
+            long[] textWeights = new long[count];
+            int target = 0;
+            for (Map.Entry<String, String> entry : displays.entrySet()) {
+                String key = entry.getKey();
+                texts[target] = entry.getValue();
+                textWeights[target] = weights.get(key);
+                keys.add(key.getBytes(StandardCharsets.UTF_8));
+                keyTargets.add(target);
+                if (wordStarts) {
+                    int words = 1;
+                    for (int space = key.indexOf(' '); space >= 0 && words < MAX_TITLE_WORDS;
+                         space = key.indexOf(' ', space + 1), words++) {
+                        keys.add(key.substring(space + 1).getBytes(StandardCharsets.UTF_8));
+                        keyTargets.add(target);
+                    }
+                }
+                target++;
+            }
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(keys.get(a), keys.get(b)));
+            byte[][] sortedKeys = new byte[order.length][];
+            int[] targets = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedKeys[i] = keys.get(order[i]);
+                targets[i] = keyTargets.get(order[i]);
+            }
+            return new PrefixTable(sortedKeys, targets, texts, textWeights);
+        }
+    }
+
+    // Immutable packed table. Key i is keys[keyOffsets[i] .. keyOffsets[i + 1]) and completes to text
+    // targets[i]; text t is texts[textOffsets[t] .. textOffsets[t + 1]) with weight weights[t].
+    // tree is a bottom-up segment tree over the keys (leaves at n + i) holding the index of the
+    // heaviest key in each node's range.
+    static final class PrefixTable {
+        private final byte[] keys;
+        private final int[] keyOffsets;
+        private final int[] targets;
+        private final byte[] texts;
+        private final int[] textOffsets;
+        private final long[] weights;
+        private final int[] tree;
+
+        PrefixTable(byte[][] sortedKeys, int[] targets, String[] texts, long[] weights) {
+            this.keyOffsets = new int[sortedKeys.length + 1];
+            for (int i = 0; i < sortedKeys.length; i++) {
+                keyOffsets[i + 1] = keyOffsets[i] + sortedKeys[i].length;
+            }
+            this.keys = new byte[keyOffsets[sortedKeys.length]];
+            for (int i = 0; i < sortedKeys.length; i++) {
+                System.arraycopy(sortedKeys[i], 0, keys, keyOffsets[i], sortedKeys[i].length);
+            }
+            this.targets = targets;
+            byte[][] encoded = new byte[texts.length][];
+            this.textOffsets = new int[texts.length + 1];
+            for (int t = 0; t < texts.length; t++) {
+                encoded[t] = texts[t].getBytes(StandardCharsets.UTF_8);
+                textOffsets[t + 1] = textOffsets[t] + encoded[t].length;
+            }
+            this.texts = new byte[textOffsets[texts.length]];
+            for (int t = 0; t < texts.length; t++) {
+                System.arraycopy(encoded[t], 0, this.texts, textOffsets[t], encoded[t].length);
+            }
+            this.weights = weights;
+            int n = targets.length;
+            this.tree = new int[2 * n];
+            for (int i = 0; i < n; i++) {
+                tree[n + i] = i;
+            }
+            for (int node = n - 1; node > 0; node--) {
+                tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+
+        int textCount() {
+            return weights.length;
+        }
+
+        long memoryBytes() {
+            return keys.length + 4L * keyOffsets.length + 4L * targets.length + texts.length
+                    + 4L * textOffsets.length + 8L * weights.length + 4L * tree.length;
+        }
+
+        // The heaviest keys of the prefix's range, best first, one per text (a title reached from two
+        // of its words is returned once)
+        List<AutocompleteSuggestion> top(byte[] prefix, int limit, AutocompleteType type) {
+            int from = bound(prefix, false);
+            int to = bound(prefix, true);
+            List<AutocompleteSuggestion> results = new ArrayList<>();
+            if (from >= to) {
+                return results;
+            }
+            // Ranges still to split, by the weight of their heaviest key: {from, to, heaviest}
+            PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> Long.compare(weight(b[2]), weight(a[2])));
+            ranges.add(new int[]{from, to, heaviest(from, to)});
+            Set<Integer> seen = new HashSet<>();
+            while (!ranges.isEmpty() && results.size() < limit) {
+                int[] range = ranges.poll();
+                int best = range[2];
+                if (seen.add(targets[best])) {
+                    int t = targets[best];
+                    String text = new String(texts, textOffsets[t], textOffsets[t + 1] - textOffsets[t], StandardCharsets.UTF_8);
+                    results.add(new AutocompleteSuggestion(text, type, weights[t]));
+                }
+                if (range[0] < best) {
+                    ranges.add(new int[]{range[0], best, heaviest(range[0], best)});
+                }
+                if (best + 1 < range[1]) {
+                    ranges.add(new int[]{best + 1, range[1], heaviest(best + 1, range[1])});
+                }
+            }
+            return results;
+        }
+
+        // First key whose first prefix.length bytes compare >= prefix (after = false) or > prefix
+        // (after = true); the keys in between are exactly those starting with the prefix
+        int bound(byte[] prefix, boolean after) {
+            int low = 0;
+            int high = targets.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int end = Math.min(keyOffsets[mid + 1], keyOffsets[mid] + prefix.length);
+                int cmp = Arrays.compareUnsigned(keys, keyOffsets[mid], end, prefix, 0, prefix.length);
+                if (cmp < 0 || (after && cmp == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Index of the heaviest key in [from, to)
+        int heaviest(int from, int to) {
+            int n = targets.length;
+            int best = from;
+            for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) {
+                    best = heavier(best, tree[l++]);
+                }
+                if ((r & 1) == 1) {
+                    best = heavier(best, tree[--r]);
+                }
+            }
+            return best;
+        }
+
+        private int heavier(int a, int b) {
+            return weight(b) > weight(a) ? b : a;
+        }
+
+        private long weight(int key) {
+            return weights[targets[key]];
+        }
+    }
+}
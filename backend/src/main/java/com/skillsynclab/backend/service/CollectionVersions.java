@@ -0,0 +1,81 @@
+package com.skillsynclab.backend.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.BsonValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+// Entity tags for list responses, so an unchanged feed can be answered with 304 without running
+// its query. Every write command this instance sends counts against its collection once the
+// server has answered (a write is visible before its reply arrives, so a tag taken earlier can
+// only be older than the data, never newer). A list's tag is the sum of the counters of every
+// collection its body is built from, which changes whenever any of them is written.
+// Writes made through other instances are not seen here, so the tag also rolls over every
+// app.http.list-validator-max-age, the same kind of bound the document caches put on staleness.
+// It carries a per-process id as well: counters restart from zero and differ between instances.
+@Component
+public class CollectionVersions implements CommandListener {
+
+    private static final Set<String> WRITE_COMMANDS = Set.of("insert", "update", "delete", "findAndModify", "drop");
+
+    private final String instanceId = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final long maxAgeMillis;
+    private final Map<Integer, String> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public CollectionVersions(@Value("${app.http.list-validator-max-age:60s}") Duration maxAge) {
+        this.maxAgeMillis = maxAge.toMillis();
+    }
+
+    // Weak entity tag over the given collections, e.g. W/"k3x9q2-1c7a5e-42"
+    public String etag(String... collections) {
+        long sum = 0;
+        for (String collection : collections) {
+            AtomicLong version = versions.get(collection);
+            if (version != null) {
+                sum += version.get();
+            }
+        }
+        long window = maxAgeMillis > 0 ? System.currentTimeMillis() / maxAgeMillis : 0;
+        return "W/\"" + instanceId + "-" + Long.toString(window, 36) + "-" + sum + "\"";
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (WRITE_COMMANDS.contains(event.getCommandName())) {
+            BsonValue collection = event.getCommand().get(event.getCommandName());
+            if (collection != null && collection.isString()) {
+                inFlight.put(event.getRequestId(), collection.asString().getValue());
+            }
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        written(event.getRequestId());
+    }
+
+    // A failed command may still have applied part of its writes (an unordered insert, a multi update)
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        written(event.getRequestId());
+    }
+
+    private void written(int requestId) {
+        String collection = inFlight.remove(requestId);
+        if (collection != null) {
+            versions.computeIfAbsent(collection, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
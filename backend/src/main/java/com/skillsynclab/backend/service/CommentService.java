@@ -0,0 +1,226 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.Comment;
+import com.skillsynclab.backend.model.CommentCursor;
+import com.skillsynclab.backend.model.CursorPage;
+import com.skillsynclab.backend.model.Discussion;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Discussion comments.
+// Comments are stored one document each in the "comments" collection and read with keyset
+// pagination on (discussionId, createdAt, _id). Adding a comment is one insert plus one update of
+// the discussion that $inc's commentCount and $push'es the comment onto a preview capped with
+// $slice, so neither side rewrites the existing thread.
+@Service
+public class CommentService implements ContentEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentService.class);
+
+    public static final int COMMENT_PREVIEW_SIZE = 3;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String DISCUSSIONS = "discussions";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private DocumentCache<Discussion> discussionCache;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private TrendingFeed trendingFeed;
+
+    // Returns null if the discussion does not exist
+    public Comment addComment(String discussionId, Comment comment) {
+        validateId(discussionId);
+        if (comment.getContent() == null || comment.getContent().trim().isEmpty()) {
+            throw new IllegalArgumentException("Content is required");
+        }
+        if (comment.getAuthor() == null && comment.getAuthorId() == null) {
+            throw new IllegalArgumentException("Author is required");
+        }
+        authorService.register(comment);
+        comment.setId(new ObjectId().toHexString());
+        comment.setDiscussionId(discussionId);
+        comment.setCreatedAt(LocalDateTime.now());
+        mongoTemplate.insert(comment);
+
+        // Discussions written before comments moved out still embed the whole thread and have no
+        // commentCount; capping their array with $slice would drop comments, so only migrated
+        // documents are matched here and the rest are migrated first.
+        Query migrated = Query.query(Criteria.where("_id").is(new ObjectId(discussionId)).and("commentCount").exists(true));
+        Update update = new Update().inc("commentCount", 1);
+        update.push("comments").slice(-COMMENT_PREVIEW_SIZE).each(comment);
+        // By collection name, so that a comment does not bump the discussion's @Version
+        if (mongoTemplate.updateFirst(migrated, update, DISCUSSIONS).getMatchedCount() == 0) {
+            Discussion legacy = mongoTemplate.findById(discussionId, Discussion.class);
+            if (legacy == null) {
+                mongoTemplate.remove(comment);
+                logger.warn("Discussion {} not found for comment", discussionId);
+                return null;
+            }
+            migrateComments(legacy);
+        }
+        discussionCache.invalidate(discussionId);
+        trendingFeed.touch(ContentEvent.Kind.DISCUSSION, discussionId);
+        authorService.hydrate(comment);
+        logger.info("Added comment {} to discussion {}", comment.getId(), discussionId);
+        return comment;
+    }
+
+    // Oldest first. Returns null if the discussion does not exist.
+    public CursorPage<Comment> getComments(String discussionId, String cursorToken, Integer limit) {
+        validateId(discussionId);
+        int pageSize = resolvePageSize(limit);
+        Criteria criteria = Criteria.where("discussionId").is(discussionId);
+        if (cursorToken != null && !cursorToken.isEmpty()) {
+            CommentCursor cursor = CommentCursor.decode(cursorToken);
+            ObjectId lastId = new ObjectId(cursor.getLastId());
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").gt(cursor.getLastCreatedAt()),
+                    Criteria.where("createdAt").is(cursor.getLastCreatedAt()).and("_id").gt(lastId));
+        } else {
+            // First page: confirm the discussion exists and that its thread has been moved out
+            Query query = Query.query(Criteria.where("_id").is(new ObjectId(discussionId)));
+            query.fields().include("commentCount");
+            Discussion discussion = mongoTemplate.findOne(query, Discussion.class);
+            if (discussion == null) {
+                return null;
+            }
+            if (discussion.getCommentCount() == null) {
+                Discussion legacy = mongoTemplate.findById(discussionId, Discussion.class);
+                if (legacy != null) {
+                    migrateComments(legacy);
+                }
+            }
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("_id")))
+                .limit(pageSize + 1);
+        List<Comment> comments = mongoTemplate.find(query, Comment.class);
+        boolean hasMore = comments.size() > pageSize;
+        if (hasMore) {
+            comments = new ArrayList<>(comments.subList(0, pageSize));
+        }
+        authorService.hydrate(comments);
+        String nextCursor = hasMore ? CommentCursor.after(comments.get(comments.size() - 1)).encode() : null;
+        return new CursorPage<>(comments, nextCursor, hasMore);
+    }
+
+    // Drops the threads of deleted discussions
+    @Override
+    public void onEvents(List<ContentEvent> events) {
+        List<String> deleted = new ArrayList<>();
+        for (ContentEvent event : events) {
+            if (event.type() == ContentEvent.Type.DELETED && event.kind() == ContentEvent.Kind.DISCUSSION) {
+                deleted.add(event.contentId());
+            }
+        }
+        if (!deleted.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("discussionId").in(deleted)), Comment.class);
+        }
+    }
+
+    // Moves the embedded comments of every discussion that has no commentCount yet into the
+    // comments collection. Returns the number of discussions migrated.
+    public int migrateAllComments() {
+        Query query = Query.query(Criteria.where("commentCount").exists(false));
+        query.cursorBatchSize(64);
+        int migrated = 0;
+        try (Stream<Discussion> stream = mongoTemplate.stream(query, Discussion.class)) {
+            Iterator<Discussion> it = stream.iterator();
+            while (it.hasNext()) {
+                migrateComments(it.next());
+                migrated++;
+            }
+        }
+        logger.info("Moved embedded comments out of {} discussions", migrated);
+        return migrated;
+    }
+
+    // Copies one discussion's embedded thread into the comments collection, then sets
+    // commentCount and trims the embedded array to the preview. Comments are saved by id, and a
+    // legacy comment without a usable id gets one derived from its position in the thread, so a
+    // repeated or concurrent run overwrites what an earlier one saved instead of duplicating it.
+    // The final update only matches while commentCount is still absent.
+    private void migrateComments(Discussion discussion) {
+        List<Comment> embedded = discussion.getComments() != null ? discussion.getComments() : new ArrayList<>();
+        LocalDateTime fallbackCreatedAt = discussion.getCreatedAt() != null ? discussion.getCreatedAt() : LocalDateTime.now();
+        List<Comment> thread = new ArrayList<>(embedded.size());
+        for (int i = 0; i < embedded.size(); i++) {
+            Comment comment = embedded.get(i);
+            if (comment.getId() == null || !ObjectId.isValid(comment.getId())) {
+                comment.setId(legacyCommentId(discussion.getId(), i).toHexString());
+            }
+            if (comment.getCreatedAt() == null) {
+                comment.setCreatedAt(fallbackCreatedAt);
+            }
+            comment.setDiscussionId(discussion.getId());
+            thread.add(comment);
+        }
+        Query legacy = Query.query(Criteria.where("_id").is(new ObjectId(discussion.getId())).and("commentCount").exists(false));
+        if (!mongoTemplate.exists(legacy, DISCUSSIONS)) {
+            return; // migrated concurrently
+        }
+        // Saving drops embedded authors, so their profiles must exist first
+        authorService.registerAll(thread);
+        for (Comment comment : thread) {
+            mongoTemplate.save(comment);
+        }
+        List<Comment> preview = thread.subList(Math.max(0, thread.size() - COMMENT_PREVIEW_SIZE), thread.size());
+        // Comments added since we read the discussion were inserted already and are counted here
+        long count = mongoTemplate.count(Query.query(Criteria.where("discussionId").is(discussion.getId())), Comment.class);
+        mongoTemplate.updateFirst(legacy, new Update().set("commentCount", count).set("comments", preview), DISCUSSIONS);
+        discussionCache.invalidate(discussion.getId());
+        logger.info("Moved {} embedded comments of discussion {} to the comments collection", thread.size(), discussion.getId());
+    }
+
+    // The discussion's timestamp followed by 8 bytes of a name-based hash of the discussion id and
+    // the comment's index in the embedded array, which the migration does not change
+    static ObjectId legacyCommentId(String discussionId, int index) {
+        long hash = UUID.nameUUIDFromBytes((discussionId + "/" + index).getBytes(StandardCharsets.UTF_8))
+                .getMostSignificantBits();
+        return new ObjectId(ByteBuffer.allocate(12)
+                .putInt(new ObjectId(discussionId).getTimestamp())
+                .putLong(hash)
+                .array());
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    private void validateId(String id) {
+        if (id == null || !ObjectId.isValid(id)) {
+            throw new IllegalArgumentException("Invalid discussion ID format");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.skillsynclab.backend.service;
+
+// A recipe, learning plan or discussion was created or deleted. Published by the owning service
+// once the write has succeeded and delivered asynchronously by ContentEventPipeline.
+// authorId is null for content written before authors moved to their own collection.
+public record ContentEvent(Type type, Kind kind, String contentId, String authorId) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    public enum Kind {
+        RECIPE,
+        LEARNING_PLAN,
+        DISCUSSION
+    }
+
+    public static ContentEvent created(Kind kind, String contentId, String authorId) {
+        return new ContentEvent(Type.CREATED, kind, contentId, authorId);
+    }
+
+    public static ContentEvent deleted(Kind kind, String contentId, String authorId) {
+        return new ContentEvent(Type.DELETED, kind, contentId, authorId);
+    }
+}
@@ -0,0 +1,27 @@
+package com.skillsynclab.backend.service;
+
+import java.util.List;
+
+// Receives batches of content events from ContentEventPipeline, in publication order, one batch at
+// a time. A listener that throws gets the same batch again on ContentEventPipeline.replayFailed(),
+// unless it throws PartialFailure, in which case only the events named there are replayed.
+public interface ContentEventListener {
+
+    void onEvents(List<ContentEvent> events);
+
+    // Thrown by a listener that applied part of a batch; the rest must be replayed, the applied
+    // part must not
+    class PartialFailure extends RuntimeException {
+
+        private final List<ContentEvent> unapplied;
+
+        public PartialFailure(List<ContentEvent> unapplied, Throwable cause) {
+            super(unapplied.size() + " events were not applied: " + cause.getMessage(), cause);
+            this.unapplied = List.copyOf(unapplied);
+        }
+
+        public List<ContentEvent> getUnapplied() {
+            return unapplied;
+        }
+    }
+}
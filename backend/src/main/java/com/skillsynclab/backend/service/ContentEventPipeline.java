@@ -0,0 +1,218 @@
+package com.skillsynclab.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-process pipeline for the work that follows a content write but does not have to finish before
+// the response: author counters, the ingredient index, likes and comments of deleted content.
+// Services publish into a bounded queue; one consumer thread drains it in batches of up to
+// app.events.batch-size, waiting at most app.events.linger-ms for a batch to fill, and hands each
+// batch to every ContentEventListener so they can coalesce it into a few bulk writes.
+// When the queue is full the publisher delivers its event itself instead of dropping it. Batches a
+// listener fails on (or just their unapplied events, when it reports a PartialFailure) are kept for
+// replayFailed(); anything beyond that is drift for the repair jobs.
+@Component
+public class ContentEventPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentEventPipeline.class);
+
+    // Failed batches kept for replay; older failures beyond this are only logged
+    private static final int MAX_FAILED_BATCHES = 1000;
+
+    private final ObjectProvider<ContentEventListener> listenerProvider;
+    private final BlockingQueue<ContentEvent> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+
+    private final ConcurrentLinkedQueue<FailedBatch> failed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger failedBatches = new AtomicInteger();
+    // Listeners see one batch at a time, whichever thread delivers it. A lock rather than
+    // synchronized: a full queue makes request threads (possibly virtual) deliver, and delivery
+    // does database I/O.
+    private final ReentrantLock deliveryLock = new ReentrantLock();
+    private volatile List<ContentEventListener> listeners;
+    private volatile Thread consumer;
+
+    private final Counter delivered;
+    private final Counter deliveredByPublisher;
+    private final Counter failures;
+
+    private record FailedBatch(ContentEventListener listener, List<ContentEvent> events) {
+    }
+
+    public ContentEventPipeline(ObjectProvider<ContentEventListener> listenerProvider, MeterRegistry meterRegistry,
+                                @Value("${app.events.queue-capacity:10000}") int queueCapacity,
+                                @Value("${app.events.batch-size:500}") int batchSize,
+                                @Value("${app.events.linger-ms:50}") long lingerMillis) {
+        this.listenerProvider = listenerProvider;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        Gauge.builder("content.events.queued", queue, Collection::size).register(meterRegistry);
+        Gauge.builder("content.events.failed.batches", failedBatches, AtomicInteger::get).register(meterRegistry);
+        this.delivered = meterRegistry.counter("content.events.delivered");
+        this.deliveredByPublisher = meterRegistry.counter("content.events.delivered.by.publisher");
+        this.failures = meterRegistry.counter("content.events.failures");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::run, "content-events");
+        thread.setDaemon(true);
+        consumer = thread;
+        thread.start();
+    }
+
+    // Never blocks: a full queue means the caller delivers the event on its own thread
+    public void publish(ContentEvent event) {
+        if (!queue.offer(event)) {
+            logger.warn("Content event queue full, delivering {} {} {} on the publishing thread",
+                    event.type(), event.kind(), event.contentId());
+            deliveredByPublisher.increment();
+            deliver(List.of(event));
+        }
+    }
+
+    private void run() {
+        List<ContentEvent> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    ContentEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Delivers whatever is queued on the calling thread; used before repairs and on shutdown
+    public void drain() {
+        List<ContentEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            deliver(batch);
+            batch.clear();
+        }
+    }
+
+    // Hands failed batches back to the listeners that failed them. Returns the number of events
+    // delivered successfully; batches that fail again stay queued for the next replay.
+    public int replayFailed() {
+        int replayed = 0;
+        for (int i = failedBatches.get(); i > 0; i--) {
+            FailedBatch batch = failed.poll();
+            if (batch == null) {
+                break;
+            }
+            failedBatches.decrementAndGet();
+            deliveryLock.lock();
+            try {
+                if (deliverTo(batch.listener(), batch.events())) {
+                    replayed += batch.events().size();
+                }
+            } finally {
+                deliveryLock.unlock();
+            }
+        }
+        logger.info("Replayed {} content events, {} batches still failed", replayed, failedBatches.get());
+        return replayed;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("delivered", (long) delivered.count());
+        stats.put("deliveredByPublisher", (long) deliveredByPublisher.count());
+        stats.put("failures", (long) failures.count());
+        stats.put("failedBatches", failedBatches.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = consumer;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        drain();
+    }
+
+    private void deliver(List<ContentEvent> events) {
+        List<ContentEvent> batch = List.copyOf(events);
+        deliveryLock.lock();
+        try {
+            for (ContentEventListener listener : listeners()) {
+                deliverTo(listener, batch);
+            }
+        } finally {
+            deliveryLock.unlock();
+        }
+        delivered.increment(batch.size());
+    }
+
+    private boolean deliverTo(ContentEventListener listener, List<ContentEvent> batch) {
+        try {
+            listener.onEvents(batch);
+            return true;
+        } catch (Exception e) {
+            failures.increment();
+            logger.error("{} failed on {} content events: {}", listener.getClass().getSimpleName(), batch.size(), e.getMessage(), e);
+            List<ContentEvent> unapplied = e instanceof ContentEventListener.PartialFailure partial ? partial.getUnapplied() : batch;
+            if (unapplied.isEmpty()) {
+                return false;
+            }
+            if (failedBatches.get() < MAX_FAILED_BATCHES) {
+                failed.add(new FailedBatch(listener, unapplied));
+                failedBatches.incrementAndGet();
+            } else {
+                logger.warn("Too many failed content event batches; dropping this one, run the repair jobs to fix drift");
+            }
+            return false;
+        }
+    }
+
+    // Resolved lazily: listeners may themselves depend on the pipeline
+    private List<ContentEventListener> listeners() {
+        List<ContentEventListener> resolved = listeners;
+        if (resolved == null) {
+            resolved = listenerProvider.orderedStream().toList();
+            listeners = resolved;
+        }
+        return resolved;
+    }
+}
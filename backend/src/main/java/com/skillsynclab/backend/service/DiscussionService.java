@@ -1,16 +1,28 @@
 package com.skillsynclab.backend.service;
 
+import com.skillsynclab.backend.model.Authored;
+import com.skillsynclab.backend.model.Comment;
 import com.skillsynclab.backend.model.Discussion;
+import com.skillsynclab.backend.model.FieldSelection;
+import com.skillsynclab.backend.model.LikeTarget;
 import com.skillsynclab.backend.repository.DiscussionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class DiscussionService {
@@ -20,6 +32,30 @@ public class DiscussionService {
     @Autowired
     private DiscussionRepository discussionRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private DocumentCache<Discussion> discussionCache;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private ContentEventPipeline contentEvents;
+
+    @Autowired
+    private LiveFeed liveFeed;
+
+    @Autowired
+    private TrendingFeed trendingFeed;
+
     public Discussion createDiscussion(Discussion discussion) {
         logger.debug("Creating discussion: {}", discussion);
         try {
@@ -29,18 +65,25 @@ public class DiscussionService {
             if (discussion.getContent() == null || discussion.getContent().isEmpty()) {
                 throw new IllegalArgumentException("Content is required");
             }
-            if (discussion.getAuthor() == null) {
+            if (discussion.getAuthor() == null && discussion.getAuthorId() == null) {
                 throw new IllegalArgumentException("Author is required");
             }
 
             if (discussion.getImages() == null) discussion.setImages(new ArrayList<>());
             if (discussion.getTags() == null) discussion.setTags(new ArrayList<>());
-            if (discussion.getComments() == null) discussion.setComments(new ArrayList<>());
+            // Comments are added through CommentService once the discussion exists
+            discussion.setComments(new ArrayList<>());
+            discussion.setCommentCount(0);
             if (discussion.getLikes() == null) discussion.setLikes(0);
 
+            discussion.setVersion(null);
             discussion.setCreatedAt(LocalDateTime.now());
             discussion.setUpdatedAt(LocalDateTime.now());
+            authorService.register(discussion);
             Discussion saved = discussionRepository.save(discussion);
+            contentEvents.publish(ContentEvent.created(ContentEvent.Kind.DISCUSSION, saved.getId(), saved.getAuthorId()));
+            hydrateAuthors(List.of(saved));
+            liveFeed.publishDiscussion(saved);
             logger.info("Saved discussion with ID: {}", saved.getId());
             return saved;
         } catch (Exception e) {
@@ -49,31 +92,120 @@ public class DiscussionService {
         }
     }
 
-    public List<Discussion> getAllDiscussions() {
-        return discussionRepository.findAll();
+    // fields (null = all) limits what is read; the controller limits what is written to the same fields
+    public List<Discussion> getAllDiscussions(FieldSelection fields) {
+        List<Discussion> discussions = fields == null
+                ? discussionRepository.findAll()
+                : mongoTemplate.find(selected(new Query(), fields), Discussion.class);
+        discussions.forEach(this::mergePendingLikes);
+        if (hydrates(fields)) {
+            hydrateAuthors(discussions);
+        }
+        return discussions;
     }
 
-    public Optional<Discussion> getDiscussionById(String id) {
-        return discussionRepository.findById(id);
+    // With a field selection a cached discussion is still used as is, but a miss reads only the
+    // selected fields and the partial document is not cached
+    public Optional<Discussion> getDiscussionById(String id, FieldSelection fields) {
+        Optional<Discussion> found = fields == null
+                ? discussionCache.get(id, discussionRepository::findById)
+                : discussionCache.getIfPresent(id).or(() -> Optional.ofNullable(mongoTemplate.findOne(
+                        selected(Query.query(Criteria.where("id").is(id)), fields), Discussion.class)));
+        // The cached instance is shared between requests, so pending likes and authors go onto a copy
+        return found.map(cached -> {
+            Discussion discussion = new Discussion();
+            BeanUtils.copyProperties(cached, discussion);
+            List<Comment> preview = new ArrayList<>();
+            if (cached.getComments() != null) {
+                for (Comment comment : cached.getComments()) {
+                    Comment copy = new Comment();
+                    BeanUtils.copyProperties(comment, copy);
+                    preview.add(copy);
+                }
+            }
+            discussion.setComments(preview);
+            if (hydrates(fields)) {
+                hydrateAuthors(List.of(discussion));
+            }
+            return mergePendingLikes(discussion);
+        });
     }
 
-    public Discussion updateDiscussion(String id, Discussion updatedDiscussion) {
-        Optional<Discussion> existing = discussionRepository.findById(id);
-        if (existing.isPresent()) {
-            Discussion discussion = existing.get();
-            discussion.setTitle(updatedDiscussion.getTitle());
-            discussion.setContent(updatedDiscussion.getContent());
-            discussion.setImages(updatedDiscussion.getImages() != null ? updatedDiscussion.getImages() : new ArrayList<>());
-            discussion.setTags(updatedDiscussion.getTags() != null ? updatedDiscussion.getTags() : new ArrayList<>());
-            discussion.setComments(updatedDiscussion.getComments() != null ? updatedDiscussion.getComments() : new ArrayList<>());
-            discussion.setLikes(updatedDiscussion.getLikes() != null ? updatedDiscussion.getLikes() : 0);
-            discussion.setUpdatedAt(LocalDateTime.now());
-            return discussionRepository.save(discussion);
+    // Fields a PATCH may touch; comments and likes have their own endpoints
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("title", "content", "images", "tags");
+
+    // expectedVersion comes from If-Match; null means unconditional. Returns null if the discussion does not exist.
+    public Discussion updateDiscussion(String id, Discussion updatedDiscussion, Long expectedVersion) {
+        Update update = new Update()
+                .set("title", updatedDiscussion.getTitle())
+                .set("content", updatedDiscussion.getContent())
+                .set("images", updatedDiscussion.getImages() != null ? updatedDiscussion.getImages() : new ArrayList<>())
+                .set("tags", updatedDiscussion.getTags() != null ? updatedDiscussion.getTags() : new ArrayList<>())
+                .set("updatedAt", LocalDateTime.now());
+        Discussion saved = PatchUpdates.findAndModify(mongoTemplate, Discussion.class, id, expectedVersion, update);
+        discussionCache.invalidate(id);
+        trendingFeed.touch(ContentEvent.Kind.DISCUSSION, id);
+        hydrateAuthors(saved != null ? List.of(saved) : List.of());
+        return mergePendingLikes(saved);
+    }
+
+    public Discussion patchDiscussion(String id, Map<String, Object> patch, Long expectedVersion) {
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch body must not be empty");
+        }
+        Discussion values = objectMapper.convertValue(patch, Discussion.class);
+        if (patch.containsKey("title") && (values.getTitle() == null || values.getTitle().isEmpty())) {
+            throw new IllegalArgumentException("Title is required");
+        }
+        if (patch.containsKey("content") && (values.getContent() == null || values.getContent().isEmpty())) {
+            throw new IllegalArgumentException("Content is required");
+        }
+        Update update = PatchUpdates.toUpdate(patch, values, PATCHABLE_FIELDS, Set.of());
+        update.set("updatedAt", LocalDateTime.now());
+        Discussion saved = PatchUpdates.findAndModify(mongoTemplate, Discussion.class, id, expectedVersion, update);
+        discussionCache.invalidate(id);
+        trendingFeed.touch(ContentEvent.Kind.DISCUSSION, id);
+        hydrateAuthors(saved != null ? List.of(saved) : List.of());
+        return mergePendingLikes(saved);
+    }
+
+    // Returns false if there was no discussion with this ID. Its comments and likes are removed asynchronously.
+    public boolean deleteDiscussion(String id) {
+        Discussion removed = authorService.removeReturningAuthor(id, Discussion.class);
+        discussionCache.invalidate(id);
+        if (removed == null) {
+            return false;
         }
-        return null;
+        contentEvents.publish(ContentEvent.deleted(ContentEvent.Kind.DISCUSSION, id, AuthorService.storedAuthorId(removed)));
+        return true;
     }
 
-    public void deleteDiscussion(String id) {
-        discussionRepository.deleteById(id);
+    // version and updatedAt are the response's validators
+    private static Query selected(Query query, FieldSelection fields) {
+        fields.applyTo(query, "version", "updatedAt");
+        return query;
+    }
+
+    private static boolean hydrates(FieldSelection fields) {
+        return fields == null || fields.selects("author") || fields.selects("comments");
+    }
+
+    // Discussions and their comment previews, in one author lookup
+    private void hydrateAuthors(List<Discussion> discussions) {
+        List<Authored> items = new ArrayList<>(discussions);
+        for (Discussion discussion : discussions) {
+            if (discussion.getComments() != null) {
+                items.addAll(discussion.getComments());
+            }
+        }
+        authorService.hydrate(items);
+    }
+
+    // likes is maintained by LikeService; add the delta that has not been flushed to Mongo yet
+    private Discussion mergePendingLikes(Discussion discussion) {
+        if (discussion != null) {
+            discussion.setLikes(likeService.currentCount(LikeTarget.DISCUSSION, discussion.getId(), discussion.getLikes()));
+        }
+        return discussion;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package com.skillsynclab.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Read-through, in-process cache of documents by id.
+// Bounded by weight, where an entry weighs roughly its JSON size in bytes, so a few very large
+// documents cannot crowd the heap the way an entry-count bound would allow. Caffeine evicts with
+// W-TinyLFU, and concurrent misses on the same id are collapsed into one load.
+// Loads run on the calling thread outside any cache lock: the cache only holds a future while the
+// load is in flight, so a virtual thread waiting on the database never pins its carrier.
+// Writers must call invalidate(id) after changing a document; hit/miss/eviction counts are
+// published as cache.* meters tagged with the cache name.
+public class DocumentCache<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentCache.class);
+
+    // Weight used when a value cannot be serialized for sizing
+    private static final int FALLBACK_WEIGHT = 4096;
+
+    private final String name;
+    private final AsyncCache<String, T> cache;
+
+    public DocumentCache(String name, long maxWeightBytes, Duration expireAfterWrite,
+                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String id, T value) -> weigh(objectMapper, value))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    // Returns the cached document or loads it; absent documents are not cached.
+    // Callers must not modify the returned instance.
+    public Optional<T> get(String id, Function<String, Optional<T>> loader) {
+        CompletableFuture<T> claimed = new CompletableFuture<>();
+        CompletableFuture<T> future = cache.get(id, (key, executor) -> claimed);
+        if (future == claimed) {
+            load(claimed, () -> loader.apply(id).orElse(null));
+        }
+        return Optional.ofNullable(join(future));
+    }
+
+    // Batched get(): the ids that are not cached are loaded with a single call to the loader.
+    // Ids the loader does not return are left out of the result and are not cached.
+    public Map<String, T> getAll(Collection<String> ids, Function<Set<String>, Map<String, T>> loader) {
+        CompletableFuture<Map<String, T>> claimed = new CompletableFuture<>();
+        Set<String> missing = new HashSet<>();
+        CompletableFuture<Map<String, T>> future = cache.getAll(ids, (keys, executor) -> {
+            keys.forEach(missing::add);
+            return claimed;
+        });
+        if (!missing.isEmpty()) {
+            load(claimed, () -> loader.apply(missing));
+        }
+        return join(future);
+    }
+
+    // The cached document without loading it; empty if absent or still loading
+    public Optional<T> getIfPresent(String id) {
+        CompletableFuture<T> future = cache.getIfPresent(id);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(future.join());
+    }
+
+    public void invalidate(String id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    public void invalidateAll() {
+        logger.info("Invalidating all entries of the {} cache", name);
+        cache.synchronous().invalidateAll();
+    }
+
+    // Completes a future this thread put in the cache; a failed load is removed from the cache
+    // and rethrown here, and waiters on the same future see the same exception. Errors are caught
+    // too, so the future is never left pending for the waiters.
+    private static <V> void load(CompletableFuture<V> claimed, Supplier<V> loader) {
+        try {
+            claimed.complete(loader.get());
+        } catch (Throwable e) {
+            claimed.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static int weigh(ObjectMapper objectMapper, Object value) {
+        CountingOutputStream out = new CountingOutputStream();
+        try {
+            objectMapper.writeValue(out, value);
+            return (int) Math.min(Integer.MAX_VALUE, out.count);
+        } catch (IOException e) {
+            return FALLBACK_WEIGHT;
+        }
+    }
+
+    // Discards the serialized bytes and keeps only their number
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.Ingredient;
+import com.skillsynclab.backend.model.Recipe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory inverted index from normalized ingredient names to recipes, for pantry matching.
+// Each recipe gets a dense int ordinal; each distinct ingredient name gets a term id whose
+// posting list is a sorted int[] of ordinals. A pantry query walks only the posting lists of the
+// pantry's terms, counting hits per ordinal, so its cost depends on how many recipes use those
+// ingredients rather than on the size of the collection.
+// Built from Mongo once the application is ready (and retried periodically until a build succeeds)
+// and kept current by RecipeService updates and by the created/deleted recipe events of
+// ContentEventPipeline.
+@Component
+public class IngredientIndex implements ContentEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngredientIndex.class);
+
+    // Words that describe preparation rather than the ingredient itself
+    private static final Set<String> DESCRIPTORS = Set.of(
+            "fresh", "freshly", "chopped", "diced", "minced", "sliced", "grated", "large", "small",
+            "medium", "finely", "roughly", "peeled", "optional", "to", "taste", "of", "a", "the", "and");
+
+    // Compaction runs once more ordinals are retired than live, and at least this many
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.ingredient-index.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Map<String, Integer> ordinalById = new HashMap<>();
+    private final List<String> idByOrdinal = new ArrayList<>();      // null once a recipe is removed
+    private final List<int[]> termsByOrdinal = new ArrayList<>();    // term ids, one per ingredient
+    private final List<String[]> namesByOrdinal = new ArrayList<>(); // ingredient names as written
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    private int retired; // ordinals of removed recipes, reclaimed by compact()
+
+    // Ids written while the initial build is streaming; the build must not overwrite them
+    private final Set<String> touchedDuringBuild = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean building = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public IngredientIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // One ranked result: the recipe, how many of its ingredients the pantry covers, and what is missing
+    public record Match(String recipeId, int matched, int total, List<String> missing) {
+        public double coverage() {
+            return total == 0 ? 0 : (double) matched / total;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            logger.info("Ingredient index disabled (app.ingredient-index.enabled=false)");
+            return;
+        }
+        startBuild();
+    }
+
+    // Pantry queries answer 503 until a build succeeds, so a build that failed on startup (e.g. the
+    // database was not reachable yet) is started again
+    @Scheduled(initialDelayString = "${app.ingredient-index.retry-interval-ms:60000}",
+            fixedDelayString = "${app.ingredient-index.retry-interval-ms:60000}")
+    public void retryFailedBuild() {
+        if (enabled && !ready && startBuild()) {
+            logger.info("Retrying the ingredient index build");
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Starts the build in the background; false if one is already running
+    private boolean startBuild() {
+        if (!building.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(this::build, "ingredient-index-build");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    // Runs on the thread started by startBuild(). Recipes already indexed by a write (or an earlier,
+    // failed build) are kept as they are.
+    void build() {
+        long start = System.currentTimeMillis();
+        Query query = new Query();
+        query.fields().include("ingredients.name");
+        query.cursorBatchSize(1000);
+        int count = 0;
+        try (Stream<Recipe> stream = mongoTemplate.stream(query, Recipe.class)) {
+            Iterator<Recipe> recipes = stream.iterator();
+            while (recipes.hasNext()) {
+                Recipe recipe = recipes.next();
+                lock.writeLock().lock();
+                try {
+                    // Checked under the lock: a write marks its id before it takes the lock
+                    if (!touchedDuringBuild.contains(recipe.getId()) && !ordinalById.containsKey(recipe.getId())) {
+                        index(recipe.getId(), recipe.getIngredients());
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                count++;
+            }
+            ready = true;
+            logger.info("Built ingredient index: {} recipes, {} terms in {} ms",
+                    count, termIds.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.warn("Failed to build ingredient index: {}", e.getMessage(), e);
+        } finally {
+            touchedDuringBuild.clear();
+            building.set(false);
+        }
+    }
+
+    // Adds or replaces a recipe's ingredients
+    public void put(String recipeId, List<Ingredient> ingredients) {
+        if (building.get()) {
+            touchedDuringBuild.add(recipeId);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.get(recipeId);
+            if (ordinal != null) {
+                // Keep the ordinal so that only the postings of changed terms move
+                for (int term : termsByOrdinal.get(ordinal)) {
+                    postings.get(term).remove(ordinal);
+                }
+                setTerms(ordinal, ingredients);
+            } else {
+                index(recipeId, ingredients);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Created recipes are read back in one query, so an update that overtook its create event is not undone
+    @Override
+    public void onEvents(List<ContentEvent> events) {
+        List<String> created = new ArrayList<>();
+        for (ContentEvent event : events) {
+            if (event.kind() != ContentEvent.Kind.RECIPE) {
+                continue;
+            }
+            if (event.type() == ContentEvent.Type.CREATED) {
+                created.add(event.contentId());
+            } else {
+                created.remove(event.contentId());
+                remove(event.contentId());
+            }
+        }
+        if (created.isEmpty()) {
+            return;
+        }
+        Query query = Query.query(Criteria.where("id").in(created));
+        query.fields().include("ingredients.name");
+        for (Recipe recipe : mongoTemplate.find(query, Recipe.class)) {
+            put(recipe.getId(), recipe.getIngredients());
+        }
+    }
+
+    public void remove(String recipeId) {
+        if (building.get()) {
+            touchedDuringBuild.add(recipeId);
+        }
+        lock.writeLock().lock();
+        try {
+            unindex(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ranks recipes by the fraction of their ingredients found in the pantry (then by the number
+    // found) and returns the best k. Recipes sharing no ingredient with the pantry are never visited.
+    public List<Match> match(Collection<String> pantry, int k, double minCoverage) {
+        lock.readLock().lock();
+        try {
+            Set<Integer> pantryTerms = new LinkedHashSet<>();
+            int postingCount = 0;
+            for (String item : pantry) {
+                Integer term = termIds.get(normalize(item));
+                if (term != null && pantryTerms.add(term)) {
+                    postingCount += postings.get(term).size;
+                }
+            }
+            HitCounts hits = new HitCounts(postingCount);
+            for (int term : pantryTerms) {
+                PostingList list = postings.get(term);
+                for (int i = 0; i < list.size; i++) {
+                    hits.increment(list.ordinals[i]);
+                }
+            }
+            // Min-heap on rank, so the weakest of the current top k is evicted first
+            PriorityQueue<int[]> top = new PriorityQueue<>(k + 1, (a, b) -> compareRank(a[0], a[1], b[0], b[1]));
+            for (int slot = 0; slot < hits.ordinals.length; slot++) {
+                int ordinal = hits.ordinals[slot] - 1;
+                if (ordinal < 0) {
+                    continue;
+                }
+                int matched = hits.counts[slot];
+                int total = termsByOrdinal.get(ordinal).length;
+                if ((double) matched / total < minCoverage) {
+                    continue;
+                }
+                top.add(new int[]{matched, total, ordinal});
+                if (top.size() > k) {
+                    top.poll();
+                }
+            }
+            List<Match> matches = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int[] entry = top.poll();
+                matches.add(toMatch(entry[2], entry[0], entry[1], pantryTerms));
+            }
+            Collections.reverse(matches);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower-cased, punctuation and preparation words removed, simple plurals folded:
+    // "2 Fresh Tomatoes, diced" -> "tomato"
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String[] words = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z ]", " ").trim().split("\\s+");
+        StringBuilder normalized = new StringBuilder();
+        for (String word : words) {
+            if (word.isEmpty() || DESCRIPTORS.contains(word)) {
+                continue;
+            }
+            if (normalized.length() > 0) {
+                normalized.append(' ');
+            }
+            normalized.append(singular(word));
+        }
+        return normalized.toString();
+    }
+
+    private static String singular(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 4 && word.endsWith("oes")) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    private static int compareRank(int matchedA, int totalA, int matchedB, int totalB) {
+        // Compare matchedA/totalA with matchedB/totalB without floating point
+        int byCoverage = Long.compare((long) matchedA * totalB, (long) matchedB * totalA);
+        return byCoverage != 0 ? byCoverage : Integer.compare(matchedA, matchedB);
+    }
+
+    private Match toMatch(int ordinal, int matched, int total, Set<Integer> pantryTerms) {
+        int[] terms = termsByOrdinal.get(ordinal);
+        String[] names = namesByOrdinal.get(ordinal);
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < terms.length; i++) {
+            if (!pantryTerms.contains(terms[i])) {
+                missing.add(names[i]);
+            }
+        }
+        return new Match(idByOrdinal.get(ordinal), matched, total, missing);
+    }
+
+    // Caller holds the write lock
+    private void index(String recipeId, List<Ingredient> ingredients) {
+        int ordinal = idByOrdinal.size();
+        idByOrdinal.add(recipeId);
+        termsByOrdinal.add(null);
+        namesByOrdinal.add(null);
+        ordinalById.put(recipeId, ordinal);
+        setTerms(ordinal, ingredients);
+    }
+
+    // Caller holds the write lock; the ordinal is not in any posting list yet
+    private void setTerms(int ordinal, List<Ingredient> ingredients) {
+        Map<Integer, String> terms = new LinkedHashMap<>();
+        if (ingredients != null) {
+            for (Ingredient ingredient : ingredients) {
+                String term = normalize(ingredient.getName());
+                if (!term.isEmpty()) {
+                    terms.putIfAbsent(termIds.computeIfAbsent(term, t -> {
+                        postings.add(new PostingList());
+                        return postings.size() - 1;
+                    }), ingredient.getName().trim());
+                }
+            }
+        }
+        termsByOrdinal.set(ordinal, terms.keySet().stream().mapToInt(Integer::intValue).toArray());
+        namesByOrdinal.set(ordinal, terms.values().toArray(new String[0]));
+        for (int term : terms.keySet()) {
+            postings.get(term).add(ordinal);
+        }
+    }
+
+    // Caller holds the write lock. The ordinal is retired rather than reused.
+    private void unindex(String recipeId) {
+        Integer ordinal = ordinalById.remove(recipeId);
+        if (ordinal == null) {
+            return;
+        }
+        for (int term : termsByOrdinal.get(ordinal)) {
+            postings.get(term).remove(ordinal);
+        }
+        idByOrdinal.set(ordinal, null);
+        termsByOrdinal.set(ordinal, new int[0]);
+        namesByOrdinal.set(ordinal, new String[0]);
+        retired++;
+        if (retired > COMPACT_THRESHOLD && retired > ordinalById.size()) {
+            compact();
+        }
+    }
+
+    // Caller holds the write lock. Renumbers live recipes densely, preserving their order so that
+    // posting lists stay sorted.
+    private void compact() {
+        int[] newOrdinal = new int[idByOrdinal.size()];
+        List<String> ids = new ArrayList<>(ordinalById.size());
+        List<int[]> terms = new ArrayList<>(ordinalById.size());
+        List<String[]> names = new ArrayList<>(ordinalById.size());
+        for (int ordinal = 0; ordinal < idByOrdinal.size(); ordinal++) {
+            String id = idByOrdinal.get(ordinal);
+            if (id == null) {
+                newOrdinal[ordinal] = -1;
+                continue;
+            }
+            newOrdinal[ordinal] = ids.size();
+            ordinalById.put(id, ids.size());
+            ids.add(id);
+            terms.add(termsByOrdinal.get(ordinal));
+            names.add(namesByOrdinal.get(ordinal));
+        }
+        for (PostingList list : postings) {
+            for (int i = 0; i < list.size; i++) {
+                list.ordinals[i] = newOrdinal[list.ordinals[i]];
+            }
+        }
+        idByOrdinal.clear();
+        idByOrdinal.addAll(ids);
+        termsByOrdinal.clear();
+        termsByOrdinal.addAll(terms);
+        namesByOrdinal.clear();
+        namesByOrdinal.addAll(names);
+        logger.debug("Compacted ingredient index: {} retired ordinals dropped", retired);
+        retired = 0;
+    }
+
+    // Hit count per ordinal for one query: an open-addressing table sized to the postings the query
+    // walks, so a query never allocates in proportion to the whole catalog
+    private static final class HitCounts {
+        private final int[] ordinals; // ordinal + 1; 0 marks a free slot
+        private final int[] counts;
+        private final int mask;
+
+        HitCounts(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+            ordinals = new int[capacity];
+            counts = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        void increment(int ordinal) {
+            int slot = ordinal * 0x9E3779B9 & mask;
+            while (ordinals[slot] != 0 && ordinals[slot] != ordinal + 1) {
+                slot = slot + 1 & mask;
+            }
+            ordinals[slot] = ordinal + 1;
+            counts[slot]++;
+        }
+    }
+
+    // Sorted, growable int array of recipe ordinals
+    private static final class PostingList {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            int i = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (i >= 0) {
+                return;
+            }
+            i = -i - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            // New recipes get the largest ordinal, so this is usually an append
+            System.arraycopy(ordinals, i, ordinals, i + 1, size - i);
+            ordinals[i] = ordinal;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            int i = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (i >= 0) {
+                System.arraycopy(ordinals, i + 1, ordinals, i, size - i - 1);
+                size--;
+            }
+        }
+    }
+}
@@ -1,53 +1,134 @@
 package com.skillsynclab.backend.service;
 
+import com.skillsynclab.backend.model.FieldSelection;
 import com.skillsynclab.backend.model.LearningPlan;
 import com.skillsynclab.backend.repository.LearningPlanRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class LearningPlanService {
+    // Fields a PATCH may touch, and those that are removed when patched to null
+    private static final Set<String> PATCHABLE_FIELDS = Set.of(
+            "title", "description", "imageUrl", "steps", "categories", "difficulty", "estimatedDuration");
+    private static final Set<String> NULLABLE_FIELDS = Set.of("description", "imageUrl", "difficulty", "estimatedDuration");
+
     private final LearningPlanRepository learningPlanRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final DocumentCache<LearningPlan> learningPlanCache;
+    private final AuthorService authorService;
+    private final ContentEventPipeline contentEvents;
 
-    public LearningPlanService(LearningPlanRepository learningPlanRepository) {
+    public LearningPlanService(LearningPlanRepository learningPlanRepository, MongoTemplate mongoTemplate,
+                               ObjectMapper objectMapper, DocumentCache<LearningPlan> learningPlanCache,
+                               AuthorService authorService, ContentEventPipeline contentEvents) {
         this.learningPlanRepository = learningPlanRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.learningPlanCache = learningPlanCache;
+        this.authorService = authorService;
+        this.contentEvents = contentEvents;
     }
 
     public LearningPlan createLearningPlan(LearningPlan learningPlan) {
+        learningPlan.setVersion(null);
         learningPlan.setCreatedAt(LocalDateTime.now());
         learningPlan.setUpdatedAt(LocalDateTime.now());
-        return learningPlanRepository.save(learningPlan);
+        authorService.register(learningPlan);
+        LearningPlan saved = learningPlanRepository.save(learningPlan);
+        contentEvents.publish(ContentEvent.created(ContentEvent.Kind.LEARNING_PLAN, saved.getId(), saved.getAuthorId()));
+        authorService.hydrate(saved);
+        return saved;
+    }
+
+    // fields (null = all) limits what is read; the controller limits what is written to the same fields
+    public List<LearningPlan> getAllLearningPlans(FieldSelection fields) {
+        List<LearningPlan> learningPlans = fields == null
+                ? learningPlanRepository.findAll()
+                : mongoTemplate.find(selected(new Query(), fields), LearningPlan.class);
+        if (fields == null || fields.selects("author")) {
+            authorService.hydrate(learningPlans);
+        }
+        return learningPlans;
     }
 
-    public List<LearningPlan> getAllLearningPlans() {
-        return learningPlanRepository.findAll();
+    // With a field selection a cached plan is still used as is, but a miss reads only the
+    // selected fields and the partial document is not cached
+    public Optional<LearningPlan> getLearningPlanById(String id, FieldSelection fields) {
+        Optional<LearningPlan> found = fields == null
+                ? learningPlanCache.get(id, learningPlanRepository::findById)
+                : learningPlanCache.getIfPresent(id).or(() -> Optional.ofNullable(mongoTemplate.findOne(
+                        selected(Query.query(Criteria.where("id").is(id)), fields), LearningPlan.class)));
+        // The cached instance is shared between requests, so the author goes onto a copy
+        return found.map(cached -> {
+            LearningPlan learningPlan = new LearningPlan();
+            BeanUtils.copyProperties(cached, learningPlan);
+            if (fields == null || fields.selects("author")) {
+                authorService.hydrate(learningPlan);
+            }
+            return learningPlan;
+        });
     }
 
-    public Optional<LearningPlan> getLearningPlanById(String id) {
-        return learningPlanRepository.findById(id);
+    // version and updatedAt are the response's validators
+    private static Query selected(Query query, FieldSelection fields) {
+        fields.applyTo(query, "version", "updatedAt");
+        return query;
     }
 
-    public LearningPlan updateLearningPlan(String id, LearningPlan updatedLearningPlan) {
-        Optional<LearningPlan> existing = learningPlanRepository.findById(id);
-        if (existing.isPresent()) {
-            LearningPlan learningPlan = existing.get();
-            learningPlan.setTitle(updatedLearningPlan.getTitle());
-            learningPlan.setDescription(updatedLearningPlan.getDescription());
-            learningPlan.setImageUrl(updatedLearningPlan.getImageUrl());
-            learningPlan.setSteps(updatedLearningPlan.getSteps());
-            learningPlan.setCategories(updatedLearningPlan.getCategories());
-            learningPlan.setDifficulty(updatedLearningPlan.getDifficulty());
-            learningPlan.setEstimatedDuration(updatedLearningPlan.getEstimatedDuration());
-            learningPlan.setUpdatedAt(LocalDateTime.now());
-            return learningPlanRepository.save(learningPlan);
+    // expectedVersion comes from If-Match; null means unconditional. Returns null if the plan does not exist.
+    public LearningPlan updateLearningPlan(String id, LearningPlan updatedLearningPlan, Long expectedVersion) {
+        Update update = new Update()
+                .set("title", updatedLearningPlan.getTitle())
+                .set("description", updatedLearningPlan.getDescription())
+                .set("imageUrl", updatedLearningPlan.getImageUrl())
+                .set("steps", updatedLearningPlan.getSteps())
+                .set("categories", updatedLearningPlan.getCategories())
+                .set("difficulty", updatedLearningPlan.getDifficulty())
+                .set("estimatedDuration", updatedLearningPlan.getEstimatedDuration())
+                .set("updatedAt", LocalDateTime.now());
+        LearningPlan saved = PatchUpdates.findAndModify(mongoTemplate, LearningPlan.class, id, expectedVersion, update);
+        learningPlanCache.invalidate(id);
+        authorService.hydrate(saved);
+        return saved;
+    }
+
+    public LearningPlan patchLearningPlan(String id, Map<String, Object> patch, Long expectedVersion) {
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch body must not be empty");
         }
-        throw new RuntimeException("Learning Plan not found");
+        LearningPlan values = objectMapper.convertValue(patch, LearningPlan.class);
+        if (patch.containsKey("title") && (values.getTitle() == null || values.getTitle().isEmpty())) {
+            throw new IllegalArgumentException("Title is required");
+        }
+        Update update = PatchUpdates.toUpdate(patch, values, PATCHABLE_FIELDS, NULLABLE_FIELDS);
+        update.set("updatedAt", LocalDateTime.now());
+        LearningPlan saved = PatchUpdates.findAndModify(mongoTemplate, LearningPlan.class, id, expectedVersion, update);
+        learningPlanCache.invalidate(id);
+        authorService.hydrate(saved);
+        return saved;
     }
 
-    public void deleteLearningPlan(String id) {
-        learningPlanRepository.deleteById(id);
+    // Returns false if there was no plan with this ID
+    public boolean deleteLearningPlan(String id) {
+        LearningPlan removed = authorService.removeReturningAuthor(id, LearningPlan.class);
+        learningPlanCache.invalidate(id);
+        if (removed == null) {
+            return false;
+        }
+        contentEvents.publish(ContentEvent.deleted(ContentEvent.Kind.LEARNING_PLAN, id, AuthorService.storedAuthorId(removed)));
+        return true;
     }
-}
\ No newline at end of file
+}
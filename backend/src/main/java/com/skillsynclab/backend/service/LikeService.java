@@ -0,0 +1,249 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.Discussion;
+import com.skillsynclab.backend.model.Like;
+import com.skillsynclab.backend.model.LikeStatus;
+import com.skillsynclab.backend.model.LikeTarget;
+import com.skillsynclab.backend.model.Recipe;
+import jakarta.annotation.PreDestroy;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Likes for recipes and discussions.
+// Each like is a record in the "likes" collection (one per user and target), which is what makes
+// like/unlike idempotent. The likes counter on the target document is write-behind: accepted
+// likes accumulate in a LongAdder per target id and are flushed as one unordered bulk of $inc
+// updates per collection. Reads add the not-yet-flushed delta via currentCount(), including the
+// part a running flush has taken but not yet stored.
+@Service
+public class LikeService implements ContentEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Cached documents carry the stored count, which a flush changes
+    @Autowired
+    private DocumentCache<Recipe> recipeCache;
+
+    @Autowired
+    private DocumentCache<Discussion> discussionCache;
+
+    @Autowired
+    private TrendingFeed trendingFeed;
+
+    // Pending deltas per target id. Adders are never removed: dropping one could race with a
+    // concurrent increment on it, and an idle adder costs a few dozen bytes per liked document.
+    private final Map<LikeTarget, ConcurrentHashMap<String, LongAdder>> pending = new EnumMap<>(LikeTarget.class);
+    // Deltas a flush has taken out of pending and not yet settled. They stay visible to reads
+    // until the stored counts and the caches reflect them, so counts do not dip during a flush.
+    private final Map<LikeTarget, ConcurrentHashMap<String, Long>> inFlight = new EnumMap<>(LikeTarget.class);
+
+    public LikeService() {
+        for (LikeTarget target : LikeTarget.values()) {
+            pending.put(target, new ConcurrentHashMap<>());
+            inFlight.put(target, new ConcurrentHashMap<>());
+        }
+    }
+
+    // Returns null if the target does not exist
+    public LikeStatus like(LikeTarget target, String targetId, String userId) {
+        validateUserId(userId);
+        Integer stored = readStoredCount(target, targetId);
+        if (stored == null) {
+            return null;
+        }
+        Like like = new Like();
+        like.setId(Like.idFor(target, targetId, userId));
+        like.setTarget(target);
+        like.setTargetId(targetId);
+        like.setUserId(userId);
+        like.setCreatedAt(LocalDateTime.now());
+        try {
+            mongoTemplate.insert(like);
+            counter(target, targetId).increment();
+            logger.debug("User {} liked {} {}", userId, target, targetId);
+        } catch (DuplicateKeyException e) {
+            logger.debug("User {} already likes {} {}", userId, target, targetId);
+        }
+        return new LikeStatus(true, currentCount(target, targetId, stored));
+    }
+
+    // Returns null if the target does not exist
+    public LikeStatus unlike(LikeTarget target, String targetId, String userId) {
+        validateUserId(userId);
+        Integer stored = readStoredCount(target, targetId);
+        if (stored == null) {
+            return null;
+        }
+        long removed = mongoTemplate.remove(
+                Query.query(Criteria.where("id").is(Like.idFor(target, targetId, userId))), Like.class).getDeletedCount();
+        if (removed > 0) {
+            counter(target, targetId).decrement();
+            logger.debug("User {} unliked {} {}", userId, target, targetId);
+        }
+        return new LikeStatus(false, currentCount(target, targetId, stored));
+    }
+
+    public boolean isLiked(LikeTarget target, String targetId, String userId) {
+        return mongoTemplate.exists(
+                Query.query(Criteria.where("id").is(Like.idFor(target, targetId, userId))), Like.class);
+    }
+
+    // Stored count plus whatever has not been flushed yet
+    public int currentCount(LikeTarget target, String targetId, Integer stored) {
+        LongAdder delta = pending.get(target).get(targetId);
+        long count = (stored != null ? stored : 0) + (delta != null ? delta.sum() : 0)
+                + inFlight.get(target).getOrDefault(targetId, 0L);
+        return (int) Math.max(0, count);
+    }
+
+    // Drops the like records of deleted recipes and discussions, one remove per target type.
+    // A pending delta of a deleted target, if any, is flushed as an $inc that matches nothing.
+    @Override
+    public void onEvents(List<ContentEvent> events) {
+        Map<LikeTarget, List<String>> deleted = new EnumMap<>(LikeTarget.class);
+        for (ContentEvent event : events) {
+            if (event.type() != ContentEvent.Type.DELETED) {
+                continue;
+            }
+            LikeTarget target = switch (event.kind()) {
+                case RECIPE -> LikeTarget.RECIPE;
+                case DISCUSSION -> LikeTarget.DISCUSSION;
+                case LEARNING_PLAN -> null;
+            };
+            if (target != null) {
+                deleted.computeIfAbsent(target, t -> new ArrayList<>()).add(event.contentId());
+            }
+        }
+        for (Map.Entry<LikeTarget, List<String>> entry : deleted.entrySet()) {
+            mongoTemplate.remove(Query.query(Criteria.where("target").is(entry.getKey()).and("targetId").in(entry.getValue())), Like.class);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.likes.flush-interval-ms:1000}")
+    public void flush() {
+        for (LikeTarget target : LikeTarget.values()) {
+            flush(target);
+        }
+    }
+
+    private void flush(LikeTarget target) {
+        // Insertion order is the order of the bulk's updates, which its errors refer to by index
+        Map<String, Long> drained = new LinkedHashMap<>();
+        BulkOperations bulk = null;
+        for (Map.Entry<String, LongAdder> entry : pending.get(target).entrySet()) {
+            long delta = entry.getValue().sum();
+            if (delta == 0) {
+                continue;
+            }
+            // Move exactly what we write to inFlight (added there first, so a read in between
+            // can only overcount); increments that land meanwhile stay pending
+            inFlight.get(target).merge(entry.getKey(), delta, Long::sum);
+            entry.getValue().add(-delta);
+            drained.put(entry.getKey(), delta);
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, target.getEntityType());
+            }
+            bulk.updateOne(Query.query(Criteria.where("id").is(entry.getKey())),
+                    new Update().inc("likes", Math.toIntExact(delta)));
+        }
+        if (bulk == null) {
+            return;
+        }
+        try {
+            bulk.execute();
+            flushed(target, drained.keySet());
+            drained.forEach((id, delta) -> settle(target, id, delta));
+            logger.debug("Flushed like counters for {} {} documents", drained.size(), target);
+        } catch (BulkOperationException e) {
+            // The bulk is unordered: every update not named in the errors was applied, and retrying
+            // it would count its likes twice. Only the failed deltas go back for the next flush.
+            List<String> ids = new ArrayList<>(drained.keySet());
+            Set<String> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                String id = ids.get(error.getIndex());
+                failed.add(id);
+                counter(target, id).add(drained.get(id));
+            }
+            logger.error("Failed to flush {} of {} {} like counters: {}", failed.size(), ids.size(), target, e.getMessage());
+            flushed(target, ids.stream().filter(id -> !failed.contains(id)).toList());
+            drained.forEach((id, delta) -> settle(target, id, delta));
+        } catch (Exception e) {
+            // Nothing is known to have been applied; put the deltas back so the next flush retries them
+            logger.error("Failed to flush {} like counters: {}", target, e.getMessage(), e);
+            for (Map.Entry<String, Long> entry : drained.entrySet()) {
+                counter(target, entry.getKey()).add(entry.getValue());
+            }
+            drained.forEach((id, delta) -> settle(target, id, delta));
+        }
+    }
+
+    // Drops a flushed (or restored) delta from inFlight once it is counted elsewhere
+    private void settle(LikeTarget target, String id, long delta) {
+        inFlight.get(target).computeIfPresent(id, (key, value) -> value == delta ? null : value - delta);
+    }
+
+    // Counters now stored: cached copies are stale and the trending feed re-scores the documents
+    private void flushed(LikeTarget target, Collection<String> ids) {
+        DocumentCache<?> cache = target == LikeTarget.RECIPE ? recipeCache : discussionCache;
+        ids.forEach(cache::invalidate);
+        ContentEvent.Kind kind = target == LikeTarget.RECIPE ? ContentEvent.Kind.RECIPE : ContentEvent.Kind.DISCUSSION;
+        ids.forEach(id -> trendingFeed.touch(kind, id));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private LongAdder counter(LikeTarget target, String targetId) {
+        return pending.get(target).computeIfAbsent(targetId, id -> new LongAdder());
+    }
+
+    private Integer readStoredCount(LikeTarget target, String targetId) {
+        if (targetId == null || !ObjectId.isValid(targetId)) {
+            throw new IllegalArgumentException("Invalid " + target.name().toLowerCase() + " ID format");
+        }
+        Query query = Query.query(Criteria.where("_id").is(new ObjectId(targetId)));
+        query.fields().include("likes");
+        Document doc = mongoTemplate.findOne(query, Document.class, mongoTemplate.getCollectionName(target.getEntityType()));
+        if (doc == null) {
+            return null;
+        }
+        Number likes = doc.get("likes", Number.class);
+        return likes != null ? likes.intValue() : 0;
+    }
+
+    private void validateUserId(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("userId is required");
+        }
+    }
+}
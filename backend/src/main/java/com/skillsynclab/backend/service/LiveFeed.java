@@ -0,0 +1,403 @@
+package com.skillsynclab.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsynclab.backend.model.Discussion;
+import com.skillsynclab.backend.model.DiscussionSummary;
+import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.model.RecipeSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Live feed of new recipes and discussions, served as Server-Sent Events on GET /api/feed/stream.
+// Each published card is encoded once into an SSE frame and stored in a fixed-size ring; a
+// subscriber is only a cursor (the next sequence number it needs) into that ring. Connections use
+// Servlet non-blocking I/O, so no thread is held while a subscriber is idle, and a subscriber whose
+// socket is not writable is skipped until the container reports it writable again: one slow client
+// never delays the others. A subscriber that falls a whole ring behind, or stays unwritable for
+// app.feed.stall-timeout, is disconnected. Reconnecting with a Last-Event-ID that is no longer in
+// the ring gets a "reset" event, telling the client to reload its lists instead.
+@Component
+public class LiveFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveFeed.class);
+
+    private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+
+    // How often the dispatcher checks for due heartbeats and stalled subscribers when idle
+    private static final long MAX_IDLE_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private record Frame(long seq, byte[] bytes) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Frame[] ring;
+    private final int mask;
+    private final int maxSubscribers;
+    private final long heartbeatNanos;
+    private final long stallTimeoutNanos;
+    private final long retryMillis;
+
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final ReentrantLock signalLock = new ReentrantLock();
+    private final Condition signal = signalLock.newCondition();
+    private boolean signalled;
+    // Sequence number of the next frame; sequence numbers start at 1
+    private volatile long head = 1;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private volatile Thread dispatcher;
+
+    private final Counter published;
+    private final Counter evictions;
+
+    public LiveFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                    @Value("${app.feed.ring-size:4096}") int ringSize,
+                    @Value("${app.feed.max-subscribers:10000}") int maxSubscribers,
+                    @Value("${app.feed.heartbeat-interval:25s}") Duration heartbeatInterval,
+                    @Value("${app.feed.stall-timeout:30s}") Duration stallTimeout,
+                    @Value("${app.feed.retry:3s}") Duration retry) {
+        this.objectMapper = objectMapper;
+        int capacity = Integer.highestOneBit(Math.max(2, ringSize - 1)) << 1; // next power of two
+        this.ring = new Frame[capacity];
+        this.mask = capacity - 1;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatNanos = heartbeatInterval.toNanos();
+        this.stallTimeoutNanos = stallTimeout.toNanos();
+        this.retryMillis = retry.toMillis();
+        Gauge.builder("feed.subscribers", subscribers, Set::size).register(meterRegistry);
+        this.published = meterRegistry.counter("feed.published");
+        this.evictions = meterRegistry.counter("feed.evictions");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::run, "live-feed");
+        thread.setDaemon(true);
+        dispatcher = thread;
+        thread.start();
+    }
+
+    public void publishRecipe(Recipe recipe) {
+        publish("recipe", RecipeSummary.from(recipe));
+    }
+
+    public void publishDiscussion(Discussion discussion) {
+        publish("discussion", DiscussionSummary.from(discussion));
+    }
+
+    // Never blocks on subscribers: the frame goes into the ring and the dispatcher is woken
+    private void publish(String event, Object card) {
+        byte[] data;
+        try {
+            data = objectMapper.writeValueAsBytes(card);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not encode {} feed event: {}", event, e.getMessage());
+            return;
+        }
+        publishLock.lock();
+        try {
+            long seq = head;
+            String prefix = "id: " + seq + "\nevent: " + event + "\ndata: ";
+            byte[] frame = new byte[prefix.length() + data.length + 2];
+            System.arraycopy(prefix.getBytes(StandardCharsets.UTF_8), 0, frame, 0, prefix.length());
+            System.arraycopy(data, 0, frame, prefix.length(), data.length);
+            frame[frame.length - 2] = '\n';
+            frame[frame.length - 1] = '\n';
+            ring[(int) (seq & mask)] = new Frame(seq, frame);
+            head = seq + 1;
+        } finally {
+            publishLock.unlock();
+        }
+        published.increment();
+        signalLock.lock();
+        try {
+            signalled = true;
+            signal.signal();
+        } finally {
+            signalLock.unlock();
+        }
+    }
+
+    // Starts streaming to this request, from just after lastEventId when the ring still has it.
+    // Returns false (and sends 503) when the instance already has app.feed.max-subscribers.
+    public boolean subscribe(HttpServletRequest request, HttpServletResponse response, String lastEventId) throws IOException {
+        if (subscribers.size() >= maxSubscribers) {
+            logger.warn("Refusing feed subscriber: {} subscribers already connected", subscribers.size());
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many feed subscribers");
+            return false;
+        }
+        long next = head;
+        long cursor = next;
+        boolean reset = false;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            long oldest = Math.max(1, next - ring.length);
+            try {
+                long resumeAt = Long.parseLong(lastEventId.trim()) + 1;
+                if (resumeAt >= oldest && resumeAt <= next) {
+                    cursor = resumeAt;
+                } else {
+                    reset = true;
+                }
+            } catch (NumberFormatException e) {
+                reset = true;
+            }
+        }
+        // The id tells EventSource where to resume even if nothing is published before a reconnect
+        String preamble = "retry: " + retryMillis + "\nid: " + (cursor - 1) + "\n"
+                + (reset ? "event: reset\ndata: {}\n\n" : "\n");
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no"); // disable proxy buffering (nginx)
+        AsyncContext context = request.startAsync();
+        context.setTimeout(0);
+        Subscriber subscriber = new Subscriber(context, response.getOutputStream(), cursor,
+                preamble.getBytes(StandardCharsets.UTF_8));
+        context.addListener(subscriber);
+        // The container calls onWritePossible once the listener is set; that first call sends the
+        // preamble and hands the subscriber to the dispatcher (see Subscriber.onWritePossible)
+        subscriber.out.setWriteListener(subscriber);
+        logger.debug("Feed subscriber connected at {} (reset: {}), {} subscribers", cursor, reset, subscribers.size());
+        return true;
+    }
+
+    private void run() {
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        while (!Thread.currentThread().isInterrupted()) {
+            signalLock.lock();
+            try {
+                if (!signalled) {
+                    signal.awaitNanos(Math.min(MAX_IDLE_NANOS, heartbeatNanos));
+                }
+                signalled = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                signalLock.unlock();
+            }
+            long now = System.nanoTime();
+            boolean heartbeat = now >= nextHeartbeat;
+            if (heartbeat) {
+                nextHeartbeat = now + heartbeatNanos;
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (heartbeat) {
+                    subscriber.heartbeatDue = true;
+                }
+                subscriber.pump();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = dispatcher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+    }
+
+    // One connection. Writes happen under its lock, from the dispatcher (new frames, heartbeats)
+    // or from a container thread (onWritePossible); whichever thread holds the lock drains for both.
+    private final class Subscriber implements WriteListener, AsyncListener {
+        private final AsyncContext context;
+        private final ServletOutputStream out;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+        private boolean registered;
+        private byte[] preamble;
+        private long cursor;
+        private boolean unflushed;
+        private long stalledSince;
+
+        Subscriber(AsyncContext context, ServletOutputStream out, long cursor, byte[] preamble) {
+            this.context = context;
+            this.out = out;
+            this.cursor = cursor;
+            this.preamble = preamble;
+        }
+
+        void pump() {
+            pending.set(true);
+            while (pending.get() && !closed && lock.tryLock()) {
+                try {
+                    pending.set(false);
+                    drain();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        // Writes while the socket accepts data; returns as soon as it does not (the container then
+        // calls onWritePossible), which is the only backpressure a subscriber applies.
+        private void drain() {
+            if (closed) {
+                return;
+            }
+            try {
+                if (preamble != null) {
+                    if (!out.isReady()) {
+                        stalled();
+                        return;
+                    }
+                    out.write(preamble);
+                    preamble = null;
+                    unflushed = true;
+                }
+                long next = head;
+                while (cursor < next) {
+                    Frame frame = ring[(int) (cursor & mask)];
+                    if (next - cursor > ring.length || frame == null || frame.seq() != cursor) {
+                        evict("fell more than " + ring.length + " events behind");
+                        return;
+                    }
+                    if (!out.isReady()) {
+                        stalled();
+                        return;
+                    }
+                    out.write(frame.bytes());
+                    cursor++;
+                    unflushed = true;
+                }
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    if (!unflushed) {
+                        if (!out.isReady()) {
+                            stalled();
+                            return;
+                        }
+                        out.write(HEARTBEAT);
+                        unflushed = true;
+                    }
+                }
+                if (unflushed) {
+                    if (!out.isReady()) {
+                        stalled();
+                        return;
+                    }
+                    out.flush();
+                    unflushed = false;
+                    // A flush the socket could not take whole stays in the container's buffer; only
+                    // an isReady() that returns false makes the container finish it and call back
+                    if (!out.isReady()) {
+                        stalled();
+                        return;
+                    }
+                }
+                stalledSince = 0;
+            } catch (IOException | RuntimeException e) {
+                // RuntimeException: the container already gave up on the connection
+                logger.debug("Feed subscriber disconnected: {}", e.getMessage());
+                close();
+            }
+        }
+
+        private void stalled() {
+            long now = System.nanoTime();
+            if (stalledSince == 0) {
+                stalledSince = now;
+            } else if (now - stalledSince > stallTimeoutNanos) {
+                evict("not writable for " + Duration.ofNanos(now - stalledSince).toSeconds() + "s");
+            }
+        }
+
+        private void evict(String reason) {
+            evictions.increment();
+            logger.info("Evicting slow feed subscriber at {}: {}", cursor, reason);
+            close();
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribers.remove(this);
+            try {
+                context.complete();
+            } catch (IllegalStateException e) {
+                // already completed by the container
+            }
+        }
+
+        @Override
+        public void onWritePossible() {
+            pump();
+            // Other threads write only after the container's first callback: writes from the
+            // dispatcher that raced with it could be left unflushed
+            if (!registered && !closed) {
+                registered = true;
+                subscribers.add(this);
+                if (closed) {
+                    subscribers.remove(this);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // Under the lock, so that no write is in progress when the container recycles the response
+            lock.lock();
+            try {
+                closed = true;
+            } finally {
+                lock.unlock();
+            }
+            subscribers.remove(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // not restarted
+        }
+    }
+}
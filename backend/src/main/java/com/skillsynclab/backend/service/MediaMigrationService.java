@@ -0,0 +1,198 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.Discussion;
+import com.skillsynclab.backend.model.LearningPlan;
+import com.skillsynclab.backend.model.MediaMigrationReport;
+import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.model.Step;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// One-time migration that moves base64 data-URI images embedded in recipes, discussions and
+// learning plans into GridFS and replaces them with /api/media/{id} URLs.
+// Only documents that still contain a data URI are matched, so re-running it is safe. Each rewrite
+// is guarded on the version that was read; a document changed in between is read again and retried.
+@Service
+public class MediaMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaMigrationService.class);
+
+    private static final String DATA_URI_PATTERN = "^data:";
+    // Documents with embedded images can be several MB each; keep the cursor batches small
+    private static final int CURSOR_BATCH_SIZE = 8;
+    // Tries per document before one that keeps changing is left for the next run
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private DocumentCache<Recipe> recipeCache;
+
+    @Autowired
+    private DocumentCache<Discussion> discussionCache;
+
+    @Autowired
+    private DocumentCache<LearningPlan> learningPlanCache;
+
+    public MediaMigrationReport extractEmbeddedImages() {
+        MediaMigrationReport report = new MediaMigrationReport();
+        migrateRecipes(report);
+        migrateDiscussions(report);
+        migrateLearningPlans(report);
+        // Rewritten documents may be cached with their old data URIs
+        recipeCache.invalidateAll();
+        discussionCache.invalidateAll();
+        learningPlanCache.invalidateAll();
+        logger.info("Media migration finished: {}", report);
+        return report;
+    }
+
+    private void migrateRecipes(MediaMigrationReport report) {
+        Criteria match = new Criteria().orOperator(
+                Criteria.where("imageUrls").regex(DATA_URI_PATTERN),
+                Criteria.where("steps.imageUrl").regex(DATA_URI_PATTERN));
+        try (Stream<Recipe> stream = mongoTemplate.stream(migrationQuery(match, "imageUrls", "steps"), Recipe.class)) {
+            Iterator<Recipe> recipes = stream.iterator();
+            while (recipes.hasNext()) {
+                Recipe recipe = recipes.next();
+                String id = recipe.getId();
+                Map<String, String> stored = new HashMap<>();
+                try {
+                    for (int attempt = 1; recipe != null; attempt++) {
+                        List<String> imageUrls = extractAll(recipe.getImageUrls(), "recipe-" + id, stored, report);
+                        List<Step> steps = recipe.getSteps();
+                        if (steps != null) {
+                            for (Step step : steps) {
+                                if (step != null) {
+                                    step.setImageUrl(extract(step.getImageUrl(), "recipe-" + id + "-step", stored, report));
+                                }
+                            }
+                        }
+                        if (updateIfUnchanged(id, recipe.getVersion(), new Update().set("imageUrls", imageUrls).set("steps", steps), Recipe.class)) {
+                            report.setRecipesUpdated(report.getRecipesUpdated() + 1);
+                            break;
+                        }
+                        recipe = reread(match, id, attempt, Recipe.class, report, "imageUrls", "steps");
+                    }
+                } catch (Exception e) {
+                    logger.error("Failed to migrate images of recipe {}: {}", id, e.getMessage(), e);
+                    report.setFailures(report.getFailures() + 1);
+                }
+            }
+        }
+    }
+
+    private void migrateDiscussions(MediaMigrationReport report) {
+        Criteria match = Criteria.where("images").regex(DATA_URI_PATTERN);
+        try (Stream<Discussion> stream = mongoTemplate.stream(migrationQuery(match, "images"), Discussion.class)) {
+            Iterator<Discussion> discussions = stream.iterator();
+            while (discussions.hasNext()) {
+                Discussion discussion = discussions.next();
+                String id = discussion.getId();
+                Map<String, String> stored = new HashMap<>();
+                try {
+                    for (int attempt = 1; discussion != null; attempt++) {
+                        List<String> images = extractAll(discussion.getImages(), "discussion-" + id, stored, report);
+                        if (updateIfUnchanged(id, discussion.getVersion(), Update.update("images", images), Discussion.class)) {
+                            report.setDiscussionsUpdated(report.getDiscussionsUpdated() + 1);
+                            break;
+                        }
+                        discussion = reread(match, id, attempt, Discussion.class, report, "images");
+                    }
+                } catch (Exception e) {
+                    logger.error("Failed to migrate images of discussion {}: {}", id, e.getMessage(), e);
+                    report.setFailures(report.getFailures() + 1);
+                }
+            }
+        }
+    }
+
+    private void migrateLearningPlans(MediaMigrationReport report) {
+        Criteria match = Criteria.where("imageUrl").regex(DATA_URI_PATTERN);
+        try (Stream<LearningPlan> stream = mongoTemplate.stream(migrationQuery(match, "imageUrl"), LearningPlan.class)) {
+            Iterator<LearningPlan> plans = stream.iterator();
+            while (plans.hasNext()) {
+                LearningPlan plan = plans.next();
+                String id = plan.getId();
+                Map<String, String> stored = new HashMap<>();
+                try {
+                    for (int attempt = 1; plan != null; attempt++) {
+                        String url = extract(plan.getImageUrl(), "learning-plan-" + id, stored, report);
+                        if (updateIfUnchanged(id, plan.getVersion(), Update.update("imageUrl", url), LearningPlan.class)) {
+                            report.setLearningPlansUpdated(report.getLearningPlansUpdated() + 1);
+                            break;
+                        }
+                        plan = reread(match, id, attempt, LearningPlan.class, report, "imageUrl");
+                    }
+                } catch (Exception e) {
+                    logger.error("Failed to migrate image of learning plan {}: {}", id, e.getMessage(), e);
+                    report.setFailures(report.getFailures() + 1);
+                }
+            }
+        }
+    }
+
+    private Query migrationQuery(Criteria match, String... fields) {
+        Query query = new Query(match);
+        query.fields().include(fields).include("version");
+        query.cursorBatchSize(CURSOR_BATCH_SIZE);
+        return query;
+    }
+
+    // Sets the rewritten fields only if the document is still at the version that was read, and
+    // bumps the version so that an If-Match taken before the migration no longer applies
+    private boolean updateIfUnchanged(String id, Long version, Update update, Class<?> entityType) {
+        Query guard = Query.query(Criteria.where("_id").is(id).and("version").is(version));
+        return mongoTemplate.updateFirst(guard, update.inc("version", 1), entityType).getMatchedCount() > 0;
+    }
+
+    // The document as it is after a write beat the migration to it, or null when it no longer has a
+    // data URI (or was deleted) or has changed MAX_ATTEMPTS times; that one is left for the next run
+    private <T> T reread(Criteria match, String id, int attempt, Class<T> entityType, MediaMigrationReport report, String... fields) {
+        if (attempt == MAX_ATTEMPTS) {
+            logger.warn("{} {} kept changing during the media migration; left for the next run", entityType.getSimpleName(), id);
+            report.setSkipped(report.getSkipped() + 1);
+            return null;
+        }
+        return mongoTemplate.findOne(migrationQuery(new Criteria().andOperator(Criteria.where("_id").is(id), match), fields), entityType);
+    }
+
+    private List<String> extractAll(List<String> urls, String filename, Map<String, String> stored, MediaMigrationReport report) {
+        List<String> migrated = new ArrayList<>();
+        if (urls == null) {
+            return migrated;
+        }
+        for (String url : urls) {
+            migrated.add(extract(url, filename, stored, report));
+        }
+        return migrated;
+    }
+
+    // Images already stored for this document (by data URI) are reused when a retry sees them again
+    private String extract(String url, String filename, Map<String, String> stored, MediaMigrationReport report) {
+        if (!MediaService.isDataUri(url)) {
+            return url;
+        }
+        return stored.computeIfAbsent(url, dataUri -> {
+            report.setImagesExtracted(report.getImagesExtracted() + 1);
+            return mediaService.storeDataUri(dataUri, filename);
+        });
+    }
+}
@@ -0,0 +1,172 @@
+package com.skillsynclab.backend.service;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.skillsynclab.backend.model.MediaUpload;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+// Stores image/video binaries in GridFS so that content documents only carry a short /api/media/{id} URL.
+@Service
+public class MediaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaService.class);
+
+    public static final String URL_PREFIX = "/api/media/";
+
+    // Metadata key under which GridFsTemplate.store records the content type
+    private static final String CONTENT_TYPE_FIELD = "_contentType";
+
+    private static final String OCTET_STREAM = "application/octet-stream";
+
+    // Raster images and video only: SVG and other active formats could run script on the API origin
+    private static final Set<String> SUPPORTED_TYPES = Set.of(
+            "image/png", "image/jpeg", "image/jpg", "image/gif", "image/webp",
+            "video/mp4", "video/webm", "video/ogg", "video/quicktime");
+
+    // Enough leading bytes for every signature checked by detectContentType
+    private static final int SNIFF_LENGTH = 16;
+
+    @Autowired
+    private GridFsTemplate gridFsTemplate;
+
+    public MediaUpload store(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File is required");
+        }
+        String declared = file.getContentType();
+        if (!isSupportedContentType(declared)) {
+            logger.error("Rejected media upload with content type {}", declared);
+            throw new IllegalArgumentException("Unsupported content type: " + declared);
+        }
+        try (InputStream in = new BufferedInputStream(file.getInputStream())) {
+            in.mark(SNIFF_LENGTH);
+            byte[] head = in.readNBytes(SNIFF_LENGTH);
+            in.reset();
+            String contentType = verifiedContentType(declared, head);
+            ObjectId id = gridFsTemplate.store(in, file.getOriginalFilename(), contentType);
+            logger.info("Stored media {} ({} bytes, {})", id, file.getSize(), contentType);
+            return new MediaUpload(id.toHexString(), URL_PREFIX + id.toHexString(), contentType, file.getSize());
+        } catch (IOException e) {
+            logger.error("Failed to store media: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to store media: " + e.getMessage(), e);
+        }
+    }
+
+    // Decodes a base64 "data:<type>;base64,<payload>" URI and stores it; returns the media URL
+    public String storeDataUri(String dataUri, String filename) {
+        int comma = dataUri.indexOf(',');
+        if (!dataUri.startsWith("data:") || comma < 0 || !dataUri.substring(0, comma).endsWith(";base64")) {
+            throw new IllegalArgumentException("Not a base64 data URI");
+        }
+        String declared = dataUri.substring("data:".length(), comma - ";base64".length());
+        if (!isSupportedContentType(declared)) {
+            throw new IllegalArgumentException("Unsupported content type: " + declared);
+        }
+        byte[] bytes = Base64.getMimeDecoder().decode(dataUri.substring(comma + 1));
+        String contentType = verifiedContentType(declared, Arrays.copyOf(bytes, Math.min(bytes.length, SNIFF_LENGTH)));
+        ObjectId id = gridFsTemplate.store(new ByteArrayInputStream(bytes), filename, contentType);
+        logger.debug("Extracted data URI into media {} ({} bytes)", id, bytes.length);
+        return URL_PREFIX + id.toHexString();
+    }
+
+    public Optional<GridFSFile> findFile(String id) {
+        if (id == null || !id.matches("^[0-9a-fA-F]{24}$")) {
+            throw new IllegalArgumentException("Invalid media ID format");
+        }
+        return Optional.ofNullable(gridFsTemplate.findOne(Query.query(Criteria.where("_id").is(new ObjectId(id)))));
+    }
+
+    // Opens a streaming GridFS download; the caller owns (and must close) the returned stream
+    public InputStream openStream(GridFSFile file) throws IOException {
+        GridFsResource resource = gridFsTemplate.getResource(file);
+        return resource.getInputStream();
+    }
+
+    // The stored type when it is one we serve inline; anything else (e.g. SVG stored before the
+    // allow-list existed) is served as an opaque download
+    public String contentTypeOf(GridFSFile file) {
+        Document metadata = file.getMetadata();
+        String contentType = metadata != null ? metadata.getString(CONTENT_TYPE_FIELD) : null;
+        return isSupportedContentType(contentType) ? contentType : OCTET_STREAM;
+    }
+
+    public static boolean isDataUri(String value) {
+        return value != null && value.startsWith("data:");
+    }
+
+    public static boolean isSupportedContentType(String contentType) {
+        return contentType != null && SUPPORTED_TYPES.contains(contentType.toLowerCase(Locale.ROOT));
+    }
+
+    // The declared type must agree with the file's signature; the detected type is what gets stored
+    static String verifiedContentType(String declared, byte[] head) {
+        String detected = detectContentType(head);
+        if (detected == null || !detected.equals(canonical(declared))) {
+            logger.error("Rejected media declared as {} whose content is {}", declared, detected != null ? detected : "unrecognized");
+            throw new IllegalArgumentException("File content does not match content type " + declared);
+        }
+        return detected;
+    }
+
+    // Content type from the leading bytes, or null when they are not one of the supported formats
+    static String detectContentType(byte[] head) {
+        if (startsWith(head, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(head, 0, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, 0, 'G', 'I', 'F', '8') && (startsWith(head, 4, '7', 'a') || startsWith(head, 4, '9', 'a'))) {
+            return "image/gif";
+        }
+        if (startsWith(head, 0, 'R', 'I', 'F', 'F') && startsWith(head, 8, 'W', 'E', 'B', 'P')) {
+            return "image/webp";
+        }
+        if (startsWith(head, 4, 'f', 't', 'y', 'p')) {
+            return startsWith(head, 8, 'q', 't', ' ', ' ') ? "video/quicktime" : "video/mp4";
+        }
+        if (startsWith(head, 0, 0x1A, 0x45, 0xDF, 0xA3)) {
+            return "video/webm";
+        }
+        if (startsWith(head, 0, 'O', 'g', 'g', 'S')) {
+            return "video/ogg";
+        }
+        return null;
+    }
+
+    private static String canonical(String contentType) {
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.equals("image/jpg") ? "image/jpeg" : type;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, int... signature) {
+        if (bytes.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((bytes[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
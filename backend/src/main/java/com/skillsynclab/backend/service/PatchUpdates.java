@@ -0,0 +1,132 @@
+package com.skillsynclab.backend.service;
+
+import org.bson.Document;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Field-level updates for the PUT/PATCH endpoints.
+// A write is a single findAndModify on (_id[, version]) that bumps the @Version field, instead of
+// findById followed by save of the whole document.
+final class PatchUpdates {
+
+    private PatchUpdates() {
+    }
+
+    // Translates a JSON merge-patch body into a field-level Mongo update. Values are taken from the
+    // patch after Jackson has bound it onto the entity type, so nested objects and dates are written
+    // with their mapped types rather than as raw maps.
+    // patch:    the raw request body (decides which fields are touched)
+    // typed:    the same body bound to the entity class (supplies converted values)
+    // allowed:  fields clients may patch
+    // nullable: fields that are $unset on null; null lists become empty lists, other nulls are rejected
+    static Update toUpdate(Map<String, Object> patch, Object typed, Set<String> allowed, Set<String> nullable) {
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch body must not be empty");
+        }
+        BeanWrapper values = PropertyAccessorFactory.forBeanPropertyAccess(typed);
+        Update update = new Update();
+        for (Map.Entry<String, Object> entry : patch.entrySet()) {
+            String field = entry.getKey();
+            if (!allowed.contains(field)) {
+                throw new IllegalArgumentException("Field '" + field + "' cannot be patched");
+            }
+            if (entry.getValue() != null) {
+                update.set(field, values.getPropertyValue(field));
+            } else if (List.class.isAssignableFrom(values.getPropertyType(field))) {
+                update.set(field, new ArrayList<>());
+            } else if (nullable.contains(field)) {
+                update.unset(field);
+            } else {
+                throw new IllegalArgumentException("Field '" + field + "' cannot be null");
+            }
+        }
+        return update;
+    }
+
+    // The same update as an aggregation pipeline, followed by a stage that sets field to an
+    // expression over the updated document (e.g. a total of two durations of which only one was
+    // patched), so the derived value is written in the same findAndModify. The patched values are
+    // converted up front and passed as $literal, so a string such as "$5 dinner" is not read as a
+    // field path.
+    static AggregationUpdate withDerivedField(MongoConverter converter, Update update,
+                                              String field, AggregationExpression value) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        for (Map.Entry<String, Object> operator : update.getUpdateObject().entrySet()) {
+            Document fields = (Document) operator.getValue();
+            switch (operator.getKey()) {
+                case "$set" -> {
+                    Document literals = new Document();
+                    fields.forEach((name, fieldValue) ->
+                            literals.append(name, new Document("$literal", converter.convertToMongoType(fieldValue))));
+                    stages.add(context -> new Document("$set", literals));
+                }
+                case "$unset" -> {
+                    List<String> names = new ArrayList<>(fields.keySet());
+                    stages.add(context -> new Document("$unset", names));
+                }
+                default -> throw new IllegalStateException("Unsupported update operator " + operator.getKey());
+            }
+        }
+        AggregationUpdate pipeline = AggregationUpdate.from(stages);
+        pipeline.set(field).toValue(value);
+        return pipeline;
+    }
+
+    // Applies the update in one round trip and returns the new document.
+    // Returns null if the document does not exist; throws OptimisticLockingFailureException if
+    // expectedVersion is given and no longer matches (the existence check only runs on that failure path).
+    static <T> T findAndModify(MongoTemplate mongoTemplate, Class<T> type, String id, Long expectedVersion,
+                               UpdateDefinition update) {
+        return findAndModify(mongoTemplate, type, id, expectedVersion, null, null, update);
+    }
+
+    // As above, but the document must also match guard, a condition on its stored state (e.g. an
+    // unchanged owner). If it exists but does not, IllegalArgumentException(guardMessage) is thrown
+    // and nothing is written; the guard is only re-checked on that failure path.
+    static <T> T findAndModify(MongoTemplate mongoTemplate, Class<T> type, String id, Long expectedVersion,
+                               Criteria guard, String guardMessage, UpdateDefinition update) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (expectedVersion != null) {
+            criteria = criteria.and("version").is(expectedVersion);
+        }
+        if (guard != null) {
+            criteria = criteria.andOperator(guard);
+        }
+        if (update instanceof AggregationUpdate pipeline) {
+            pipeline.set("version").toValue(
+                    ArithmeticOperators.Add.valueOf(ConditionalOperators.ifNull("version").then(0)).add(1));
+        } else {
+            ((Update) update).inc("version", 1);
+        }
+        T result = mongoTemplate.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true), type);
+        if (result != null || (expectedVersion == null && guard == null)
+                || !mongoTemplate.exists(Query.query(Criteria.where("id").is(id)), type)) {
+            return result;
+        }
+        if (guard != null && !mongoTemplate.exists(Query.query(Criteria.where("id").is(id).andOperator(guard)), type)) {
+            throw new IllegalArgumentException(guardMessage);
+        }
+        throw new OptimisticLockingFailureException(expectedVersion != null
+                ? type.getSimpleName() + " " + id + " was modified (expected version " + expectedVersion + ")"
+                : type.getSimpleName() + " " + id + " was modified concurrently");
+    }
+}
@@ -0,0 +1,188 @@
+package com.skillsynclab.backend.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.skillsynclab.backend.model.JobProgress;
+import com.skillsynclab.backend.model.Recipe;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Rewrites recipes stored below Recipe.CURRENT_SCHEMA_VERSION through RecipeNormalizer.
+// Works in _id order, one batch per unordered bulk write, and checkpoints the last _id after
+// every batch so the job can be resumed after a restart or failure.
+@Service
+public class RecipeBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeBackfillService.class);
+
+    public static final String JOB_ID = "recipe-schema-backfill";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RecipeNormalizer recipeNormalizer;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Value("${app.backfill.batch-size:500}")
+    private int batchSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "recipe-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // Starts the job in the background, resuming from the last checkpoint if a previous run did not finish
+    public JobProgress start() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Recipe backfill already running");
+            return getProgress();
+        }
+        JobProgress progress = getProgress();
+        if (progress.getStatus() != JobProgress.Status.RUNNING && progress.getStatus() != JobProgress.Status.FAILED) {
+            progress = new JobProgress(JOB_ID);
+            progress.setStartedAt(LocalDateTime.now());
+        }
+        progress.setStatus(JobProgress.Status.RUNNING);
+        progress.setError(null);
+        progress.setFinishedAt(null);
+        progress.setTotal(progress.getProcessed() + mongoTemplate.count(legacyQuery(progress.getLastId()), Recipe.class));
+        progress.setUpdatedAt(LocalDateTime.now());
+        mongoTemplate.save(progress);
+        logger.info("Starting recipe backfill from {} ({} documents to go)",
+                progress.getLastId() != null ? progress.getLastId() : "the beginning", progress.getTotal() - progress.getProcessed());
+        JobProgress started = progress;
+        executor.submit(() -> run(started));
+        return progress;
+    }
+
+    public JobProgress getProgress() {
+        JobProgress progress = mongoTemplate.findById(JOB_ID, JobProgress.class);
+        return progress != null ? progress : new JobProgress(JOB_ID);
+    }
+
+    private void run(JobProgress progress) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Query query = legacyQuery(progress.getLastId()).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+                List<Recipe> batch = mongoTemplate.find(query, Recipe.class);
+                if (batch.isEmpty()) {
+                    progress.setStatus(JobProgress.Status.COMPLETED);
+                    progress.setFinishedAt(LocalDateTime.now());
+                    break;
+                }
+                // Guards capture the documents as read, before the normalizer fills in their defaults
+                List<Query> guards = new ArrayList<>(batch.size());
+                for (Recipe recipe : batch) {
+                    guards.add(normalizeGuard(recipe));
+                    recipeNormalizer.normalize(recipe);
+                }
+                // The update drops embedded authors, so their profiles must exist first
+                authorService.registerAll(batch);
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Recipe.class);
+                for (int i = 0; i < batch.size(); i++) {
+                    bulk.updateOne(guards.get(i), normalizedFields(batch.get(i), guards.get(i)));
+                }
+                BulkWriteResult result = bulk.execute();
+                progress.setProcessed(progress.getProcessed() + batch.size());
+                progress.setUpdated(progress.getUpdated() + result.getModifiedCount());
+                progress.setLastId(batch.get(batch.size() - 1).getId());
+                progress.setUpdatedAt(LocalDateTime.now());
+                mongoTemplate.save(progress);
+                logger.info("Recipe backfill progress: {}/{} processed, {} rewritten",
+                        progress.getProcessed(), progress.getTotal(), progress.getUpdated());
+            }
+        } catch (Exception e) {
+            logger.error("Recipe backfill failed after {} documents: {}", progress.getProcessed(), e.getMessage(), e);
+            progress.setStatus(JobProgress.Status.FAILED);
+            progress.setError(e.getMessage());
+        } finally {
+            progress.setUpdatedAt(LocalDateTime.now());
+            try {
+                mongoTemplate.save(progress);
+            } catch (Exception e) {
+                logger.error("Failed to save recipe backfill progress: {}", e.getMessage(), e);
+            }
+            running.set(false);
+        }
+        logger.info("Recipe backfill finished with status {}", progress.getStatus());
+    }
+
+    // Matches the recipe only as it was read: still legacy and at the same version, so a PUT or PATCH
+    // that landed in between is never overwritten (the document is left for the next run instead).
+    // Like flushes $inc likes without a version bump; likes is only written when it was missing, and
+    // then only while it still is.
+    private Query normalizeGuard(Recipe recipe) {
+        Criteria criteria = Criteria.where("_id").is(new ObjectId(recipe.getId()))
+                .and("schemaVersion").not().gte(Recipe.CURRENT_SCHEMA_VERSION)
+                .and("version").is(recipe.getVersion());
+        if (recipe.getLikes() == null) {
+            criteria = criteria.and("likes").exists(false);
+        }
+        return Query.query(criteria);
+    }
+
+    // $set of the fields the normalizer fills, rather than a replacement of the document read earlier.
+    // Bumps version so that If-Match clients see the change.
+    private Update normalizedFields(Recipe recipe, Query guard) {
+        Update update = new Update()
+                .set("title", recipe.getTitle())
+                .set("description", recipe.getDescription())
+                .set("authorId", recipe.getAuthorId())
+                .unset("author") // legacy embedded copy; the profile was registered above
+                .set("imageUrls", recipe.getImageUrls())
+                .set("ingredients", recipe.getIngredients())
+                .set("steps", recipe.getSteps())
+                .set("categories", recipe.getCategories())
+                .set("tags", recipe.getTags())
+                .set("preparationTime", recipe.getPreparationTime())
+                .set("cookingTime", recipe.getCookingTime())
+                .set("totalTime", recipe.getTotalTime())
+                .set("servings", recipe.getServings())
+                .set("difficulty", recipe.getDifficulty())
+                .set("createdAt", recipe.getCreatedAt())
+                .set("updatedAt", recipe.getUpdatedAt())
+                .set("schemaVersion", Recipe.CURRENT_SCHEMA_VERSION)
+                .inc("version", 1);
+        if (guard.getQueryObject().containsKey("likes")) {
+            update.set("likes", recipe.getLikes());
+        }
+        return update;
+    }
+
+    // Recipes below the current schema version (including documents without the field), after the checkpoint
+    private Query legacyQuery(String lastId) {
+        Criteria criteria = Criteria.where("schemaVersion").not().gte(Recipe.CURRENT_SCHEMA_VERSION);
+        if (lastId != null) {
+            criteria = criteria.and("_id").gt(new ObjectId(lastId));
+        }
+        return Query.query(criteria);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // An interrupted run stays RUNNING in job_progress and resumes from its checkpoint on the next start
+        executor.shutdownNow();
+    }
+}
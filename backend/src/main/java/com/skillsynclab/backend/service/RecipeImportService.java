@@ -0,0 +1,146 @@
+package com.skillsynclab.backend.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.skillsynclab.backend.model.BulkImportReport;
+import com.skillsynclab.backend.model.BulkImportResult;
+import com.skillsynclab.backend.model.Recipe;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Bulk import of recipes from a JSON array or NDJSON (one recipe per line) request body.
+// The body is parsed one item at a time, so memory is bounded by the chunk size rather than by the
+// request. Items are validated and normalized exactly like POST /api/recipes, and valid ones are
+// inserted app.import.chunk-size at a time as one unordered bulk insert: a failing document does
+// not stop the rest of its chunk, and the report says which items failed and why.
+@Service
+public class RecipeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeImportService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private ContentEventPipeline contentEvents;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.import.max-items:50000}")
+    private int maxItems;
+
+    // Imports until the body ends. Malformed JSON, or more than app.import.max-items items, stops
+    // the import at that point: earlier items stay imported and the report ends with the error.
+    public BulkImportReport importRecipes(InputStream body) throws IOException {
+        long start = System.currentTimeMillis();
+        BulkImportReport report = new BulkImportReport();
+        List<Recipe> chunk = new ArrayList<>(chunkSize);
+        List<Integer> positions = new ArrayList<>(chunkSize);
+        int index = 0;
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                if (index == maxItems) {
+                    report.getResults().add(failed(index, "A bulk import is limited to " + maxItems + " items; the rest were not read"));
+                    break;
+                }
+                JsonNode node = parser.readValueAsTree();
+                int position = index++;
+                try {
+                    if (node == null || !node.isObject()) {
+                        throw new IllegalArgumentException("Item must be a JSON object");
+                    }
+                    Recipe recipe = objectMapper.treeToValue(node, Recipe.class);
+                    recipeService.prepareNew(recipe);
+                    recipe.setId(new ObjectId().toHexString());
+                    recipe.setVersion(0L); // bulk inserts do not initialize @Version
+                    chunk.add(recipe);
+                    positions.add(position);
+                } catch (JsonProcessingException e) {
+                    report.getResults().add(failed(position, e.getOriginalMessage()));
+                } catch (IllegalArgumentException e) {
+                    report.getResults().add(failed(position, e.getMessage()));
+                }
+                if (chunk.size() == chunkSize) {
+                    insertChunk(chunk, positions, report);
+                }
+                // Only now, so that malformed input after an item cannot cost the item itself
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            report.getResults().add(failed(index, "Malformed JSON, import stopped: " + e.getOriginalMessage()));
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, positions, report);
+        }
+        report.getResults().sort(Comparator.comparingInt(BulkImportResult::getIndex));
+        report.setReceived(index);
+        report.setFailed(report.getResults().size() - report.getCreated());
+        logger.info("Bulk import of {} recipes: {} created, {} failed in {} ms",
+                index, report.getCreated(), report.getFailed(), System.currentTimeMillis() - start);
+        return report;
+    }
+
+    private void insertChunk(List<Recipe> chunk, List<Integer> positions, BulkImportReport report) {
+        authorService.registerAll(chunk);
+        Map<Integer, String> errors = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Recipe.class).insert(chunk).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            Recipe recipe = chunk.get(i);
+            String error = errors.get(i);
+            if (error != null) {
+                report.getResults().add(failed(positions.get(i), error));
+                continue;
+            }
+            report.getResults().add(new BulkImportResult(positions.get(i), BulkImportResult.Status.CREATED, recipe.getId(), null));
+            report.setCreated(report.getCreated() + 1);
+            contentEvents.publish(ContentEvent.created(ContentEvent.Kind.RECIPE, recipe.getId(), recipe.getAuthorId()));
+        }
+        logger.debug("Inserted chunk of {} recipes, {} failed", chunk.size(), errors.size());
+        chunk.clear();
+        positions.clear();
+    }
+
+    private BulkImportResult failed(int index, String error) {
+        return new BulkImportResult(index, BulkImportResult.Status.FAILED, null, error);
+    }
+}
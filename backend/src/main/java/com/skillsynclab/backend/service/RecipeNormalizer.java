@@ -0,0 +1,116 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.Author;
+import com.skillsynclab.backend.model.Ingredient;
+import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.model.Step;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Brings a recipe to the current schema: fills defaults, drops null list entries, assigns
+// ingredient/step IDs and derived fields, then stamps Recipe.CURRENT_SCHEMA_VERSION.
+// Applied once on write (and by RecipeBackfillService for legacy documents), so reads of
+// current-version documents can return them as stored.
+@Component
+public class RecipeNormalizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeNormalizer.class);
+
+    public boolean isCurrent(Recipe recipe) {
+        return recipe.getSchemaVersion() != null && recipe.getSchemaVersion() >= Recipe.CURRENT_SCHEMA_VERSION;
+    }
+
+    public void normalize(Recipe recipe) {
+        if (recipe.getTitle() == null || recipe.getTitle().trim().isEmpty()) {
+            logger.warn("Recipe ID {} has invalid title, setting default", recipe.getId());
+            recipe.setTitle("Untitled Recipe");
+        }
+        if (recipe.getDescription() == null) {
+            recipe.setDescription("");
+        }
+        if (recipe.getAuthor() == null && recipe.getAuthorId() == null) {
+            logger.warn("Recipe ID {} has null author, setting default author", recipe.getId());
+            recipe.setAuthor(new Author(AuthorService.UNKNOWN_AUTHOR_ID, "unknown", "Unknown User", "", "",
+                    0, 0, 0, 0));
+            recipe.setAuthorId(AuthorService.UNKNOWN_AUTHOR_ID);
+        } else if (recipe.getAuthor() != null) {
+            Author author = recipe.getAuthor();
+            if (author.getId() == null) {
+                logger.warn("Author for recipe ID {} has null ID, setting default", recipe.getId());
+                author.setId(AuthorService.UNKNOWN_AUTHOR_ID);
+            }
+            if (author.getUsername() == null) author.setUsername("unknown");
+            if (author.getName() == null) author.setName("Unknown User");
+            if (author.getBio() == null) author.setBio("");
+            if (author.getProfileImageUrl() == null) author.setProfileImageUrl("");
+            if (author.getFollowers() == null) author.setFollowers(0);
+            if (author.getFollowing() == null) author.setFollowing(0);
+            if (author.getRecipes() == null) author.setRecipes(0);
+            if (author.getLearningPlans() == null) author.setLearningPlans(0);
+            if (recipe.getAuthorId() == null) recipe.setAuthorId(author.getId());
+        }
+        if (recipe.getImageUrls() == null) {
+            recipe.setImageUrls(new ArrayList<>());
+        }
+        recipe.setIngredients(normalizeIngredients(recipe.getIngredients(), recipe.getId()));
+        recipe.setSteps(normalizeSteps(recipe.getSteps(), recipe.getId()));
+        if (recipe.getCategories() == null) recipe.setCategories(new ArrayList<>());
+        if (recipe.getTags() == null) recipe.setTags(new ArrayList<>());
+        if (recipe.getLikes() == null) recipe.setLikes(0);
+        if (recipe.getPreparationTime() == null) recipe.setPreparationTime(0);
+        if (recipe.getCookingTime() == null) recipe.setCookingTime(0);
+        recipe.setTotalTime(recipe.getPreparationTime() + recipe.getCookingTime());
+        if (recipe.getServings() == null) recipe.setServings(1);
+        if (recipe.getDifficulty() == null) recipe.setDifficulty("Easy");
+        LocalDateTime now = LocalDateTime.now();
+        if (recipe.getCreatedAt() == null) recipe.setCreatedAt(now);
+        if (recipe.getUpdatedAt() == null) recipe.setUpdatedAt(now);
+        recipe.setSchemaVersion(Recipe.CURRENT_SCHEMA_VERSION);
+    }
+
+    // Drops null entries and fills ingredient defaults, assigning IDs to new ingredients
+    public List<Ingredient> normalizeIngredients(List<Ingredient> source, String recipeId) {
+        List<Ingredient> ingredients = new ArrayList<>(source != null ? source.size() : 0);
+        if (source == null) {
+            return ingredients;
+        }
+        for (Ingredient ingredient : source) {
+            if (ingredient == null) {
+                logger.warn("Found null ingredient in recipe ID {}, skipping", recipeId);
+                continue;
+            }
+            if (ingredient.getId() == null) ingredient.setId(UUID.randomUUID().toString());
+            if (ingredient.getName() == null) ingredient.setName("Unknown Ingredient");
+            if (ingredient.getQuantity() == null) ingredient.setQuantity("0");
+            if (ingredient.getUnit() == null) ingredient.setUnit("");
+            ingredients.add(ingredient);
+        }
+        return ingredients;
+    }
+
+    // Drops null entries and fills step defaults, assigning IDs to new steps
+    public List<Step> normalizeSteps(List<Step> source, String recipeId) {
+        List<Step> steps = new ArrayList<>(source != null ? source.size() : 0);
+        if (source == null) {
+            return steps;
+        }
+        for (Step step : source) {
+            if (step == null) {
+                logger.warn("Found null step in recipe ID {}, skipping", recipeId);
+                continue;
+            }
+            if (step.getId() == null) step.setId(UUID.randomUUID().toString());
+            if (step.getOrder() == null) step.setOrder(0);
+            if (step.getInstruction() == null) step.setInstruction("");
+            if (step.getImageUrl() == null) step.setImageUrl("");
+            steps.add(step);
+        }
+        return steps;
+    }
+}
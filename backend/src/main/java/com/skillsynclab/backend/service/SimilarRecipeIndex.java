@@ -0,0 +1,401 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.Ingredient;
+import com.skillsynclab.backend.model.Recipe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory MinHash/LSH index for "similar recipes": Jaccard similarity over each recipe's
+// ingredient names, tags and categories.
+// Every recipe's feature set is reduced to a MinHash signature of BANDS * ROWS hashes, and each band
+// of ROWS hashes is hashed into a bucket. Two recipes share a bucket in some band with probability
+// 1 - (1 - J^ROWS)^BANDS, which is about 0.5 at J = 0.38 and above 0.95 from J = 0.55, so a query
+// visits only the recipes in its own buckets rather than the whole catalog. Candidates are then
+// ranked by their exact Jaccard similarity, computed from the stored feature hashes.
+// Built from Mongo once the application is ready (and retried until a build succeeds), kept current
+// by RecipeService updates and by the created/deleted recipe events of ContentEventPipeline, and
+// rebuilt on demand (POST /api/admin/indexes/similar-recipes/rebuild) without taking the live index
+// offline.
+@Component
+public class SimilarRecipeIndex implements ContentEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarRecipeIndex.class);
+
+    static final int BANDS = 32;
+    static final int ROWS = 4;
+
+    // Upper bound on the recipes ranked per query, should many recipes share the same few features
+    private static final int MAX_CANDIDATES = 2000;
+
+    // One seed per MinHash function; fixed so that band keys are stable across rebuilds and restarts
+    private static final long[] SEEDS = new SplittableRandom(0x5eed_cafe_f00dL).longs(BANDS * ROWS).toArray();
+
+    private static final String[] FIELDS = {"ingredients.name", "tags", "categories"};
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.similar-recipes.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Tables tables = new Tables(); // guarded by lock; replaced whole by a rebuild
+
+    // Ids written while a build is streaming; their live entries win over what the build read
+    private final Set<String> touchedDuringBuild = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean building = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public SimilarRecipeIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // One ranked result: the recipe and its Jaccard similarity to the query recipe
+    public record Match(String recipeId, double similarity) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            logger.info("Similar recipe index disabled (app.similar-recipes.enabled=false)");
+            return;
+        }
+        rebuild();
+    }
+
+    // Similar-recipe queries answer 503 until a build succeeds, so a build that failed on startup
+    // (e.g. the database was not reachable yet) is started again
+    @Scheduled(initialDelayString = "${app.similar-recipes.retry-interval-ms:60000}",
+            fixedDelayString = "${app.similar-recipes.retry-interval-ms:60000}")
+    public void retryFailedBuild() {
+        if (enabled && !ready && rebuild()) {
+            logger.info("Retrying the similar recipe index build");
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Starts a full rebuild in the background; false if one is already running. Queries keep being
+    // served from the current index until the new one is swapped in.
+    public boolean rebuild() {
+        if (!building.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(this::build, "similar-recipe-index-build");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    void build() {
+        long start = System.currentTimeMillis();
+        Tables fresh = new Tables();
+        Query query = new Query();
+        query.fields().include(FIELDS);
+        query.cursorBatchSize(1000);
+        try (Stream<Recipe> stream = mongoTemplate.stream(query, Recipe.class)) {
+            Iterator<Recipe> recipes = stream.iterator();
+            while (recipes.hasNext()) {
+                Recipe recipe = recipes.next();
+                // Not yet visible to writers, so no lock
+                fresh.put(recipe.getId(), features(recipe));
+            }
+            lock.writeLock().lock();
+            try {
+                // Writes that raced the stream have their latest state in the live tables. Checked
+                // under the lock: a write marks its id before it takes the lock.
+                for (String id : touchedDuringBuild) {
+                    Entry live = tables.entries.get(id);
+                    if (live != null) {
+                        fresh.put(id, live.features);
+                    } else {
+                        fresh.remove(id);
+                    }
+                }
+                tables = fresh;
+                touchedDuringBuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            logger.info("Built similar recipe index: {} recipes, {} buckets in {} ms",
+                    fresh.entries.size(), fresh.bucketCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.warn("Failed to build similar recipe index: {}", e.getMessage(), e);
+        } finally {
+            touchedDuringBuild.clear();
+            building.set(false);
+        }
+    }
+
+    // Adds or replaces a recipe; the recipe must carry its ingredients, tags and categories
+    public void put(Recipe recipe) {
+        long[] features = features(recipe);
+        if (building.get()) {
+            touchedDuringBuild.add(recipe.getId());
+        }
+        lock.writeLock().lock();
+        try {
+            tables.put(recipe.getId(), features);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String recipeId) {
+        if (building.get()) {
+            touchedDuringBuild.add(recipeId);
+        }
+        lock.writeLock().lock();
+        try {
+            tables.remove(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Created recipes are read back in one query, so an update that overtook its create event is not undone
+    @Override
+    public void onEvents(List<ContentEvent> events) {
+        List<String> created = new ArrayList<>();
+        for (ContentEvent event : events) {
+            if (event.kind() != ContentEvent.Kind.RECIPE) {
+                continue;
+            }
+            if (event.type() == ContentEvent.Type.CREATED) {
+                created.add(event.contentId());
+            } else {
+                created.remove(event.contentId());
+                remove(event.contentId());
+            }
+        }
+        if (created.isEmpty()) {
+            return;
+        }
+        Query query = Query.query(Criteria.where("id").in(created));
+        query.fields().include(FIELDS);
+        for (Recipe recipe : mongoTemplate.find(query, Recipe.class)) {
+            put(recipe);
+        }
+    }
+
+    // Whether the recipe is indexed; recipes without ingredients, tags or categories are not
+    public boolean contains(String recipeId) {
+        lock.readLock().lock();
+        try {
+            return tables.entries.containsKey(recipeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The k recipes most similar to the given one, best first. Only recipes sharing an LSH bucket
+    // with it are ranked, so a weakly similar recipe may be missed (at J = 0.25,
+    // seven in eight are).
+    public List<Match> similar(String recipeId, int k) {
+        lock.readLock().lock();
+        try {
+            Entry query = tables.entries.get(recipeId);
+            if (query == null) {
+                return new ArrayList<>();
+            }
+            Set<String> seen = new HashSet<>();
+            seen.add(recipeId);
+            PriorityQueue<Match> top = new PriorityQueue<>(k + 1, (a, b) -> Double.compare(a.similarity(), b.similarity()));
+            bands:
+            for (int band = 0; band < BANDS; band++) {
+                for (String candidate : tables.buckets.get(band).getOrDefault(query.bandKeys[band], List.of())) {
+                    if (!seen.add(candidate)) {
+                        continue;
+                    }
+                    top.add(new Match(candidate, jaccard(query.features, tables.entries.get(candidate).features)));
+                    if (top.size() > k) {
+                        top.poll();
+                    }
+                    if (seen.size() > MAX_CANDIDATES) {
+                        break bands;
+                    }
+                }
+            }
+            List<Match> matches = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                matches.add(top.poll());
+            }
+            Collections.reverse(matches);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tables.entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Sorted, distinct 64-bit hashes of the recipe's features. Ingredients are normalized as for
+    // pantry matching ("2 Fresh Tomatoes" and "tomato" are one feature); each kind has its own
+    // namespace, so a "vegan" tag and a "vegan" category stay apart.
+    static long[] features(Recipe recipe) {
+        Set<Long> hashes = new HashSet<>();
+        if (recipe.getIngredients() != null) {
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                addFeature(hashes, "i:", IngredientIndex.normalize(ingredient.getName()));
+            }
+        }
+        if (recipe.getTags() != null) {
+            for (String tag : recipe.getTags()) {
+                addFeature(hashes, "t:", tag);
+            }
+        }
+        if (recipe.getCategories() != null) {
+            for (String category : recipe.getCategories()) {
+                addFeature(hashes, "c:", category);
+            }
+        }
+        long[] features = hashes.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(features);
+        return features;
+    }
+
+    private static void addFeature(Set<Long> hashes, String kind, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        byte[] bytes = (kind + value.trim().toLowerCase(Locale.ROOT)).getBytes(StandardCharsets.UTF_8);
+        long hash = 0xcbf29ce484222325L; // FNV-1a
+        for (byte b : bytes) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        hashes.add(mix(hash));
+    }
+
+    // One key per band: the band's ROWS minimum hashes combined, with the band number mixed in
+    static long[] bandKeys(long[] features) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                long seed = SEEDS[band * ROWS + row];
+                long min = Long.MAX_VALUE;
+                for (long feature : features) {
+                    min = Math.min(min, mix(feature ^ seed));
+                }
+                key = mix(key * 31 + min);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    // |a ∩ b| / |a ∪ b| over two sorted, distinct arrays
+    static double jaccard(long[] a, long[] b) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = a.length + b.length - shared;
+        return union == 0 ? 0 : (double) shared / union;
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private record Entry(long[] features, long[] bandKeys) {
+    }
+
+    // The index proper: each recipe's features and band keys, and per band the recipes in each bucket.
+    // Callers hold the write lock, except while a build fills tables no one else can see yet.
+    private static final class Tables {
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final List<Map<Long, List<String>>> buckets = new ArrayList<>(BANDS); // one map per band
+
+        Tables() {
+            for (int band = 0; band < BANDS; band++) {
+                buckets.add(new HashMap<>());
+            }
+        }
+
+        void put(String recipeId, long[] features) {
+            remove(recipeId);
+            if (features.length == 0) {
+                return; // nothing to be similar on
+            }
+            Entry entry = new Entry(features, bandKeys(features));
+            entries.put(recipeId, entry);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.get(band).computeIfAbsent(entry.bandKeys[band], key -> new ArrayList<>(2)).add(recipeId);
+            }
+        }
+
+        void remove(String recipeId) {
+            Entry entry = entries.remove(recipeId);
+            if (entry == null) {
+                return;
+            }
+            for (int band = 0; band < BANDS; band++) {
+                List<String> bucket = buckets.get(band).get(entry.bandKeys[band]);
+                bucket.remove(recipeId);
+                if (bucket.isEmpty()) {
+                    buckets.get(band).remove(entry.bandKeys[band]);
+                }
+            }
+        }
+
+        int bucketCount() {
+            int count = 0;
+            for (Map<Long, List<String>> band : buckets) {
+                count += band.size();
+            }
+            return count;
+        }
+    }
+}
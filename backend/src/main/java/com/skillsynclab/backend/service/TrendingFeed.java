@@ -0,0 +1,269 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.Authored;
+import com.skillsynclab.backend.model.Discussion;
+import com.skillsynclab.backend.model.DiscussionSummary;
+import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.model.RecipeSummary;
+import com.skillsynclab.backend.model.TrendingItem;
+import com.skillsynclab.backend.model.TrendingPage;
+import com.skillsynclab.backend.repository.RecipeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Trending feed of recipes and discussions: engagement decayed exponentially with age,
+//   score = (1 + likes + comment-weight * comments) * 2^(-age / half-life)
+// Decaying every item by the same factor never changes their order, so an item is kept as its rank
+// against a fixed epoch, ln(engagement) + ln 2 * createdAt / half-life, which only changes when its
+// engagement does. Each scheduled run re-reads just the items touched since the last one (liked,
+// commented on, created, edited or deleted), re-selects the top app.trending.top-k overall and per
+// recipe category with a min-heap over the in-memory ranks, and publishes an immutable snapshot
+// that readers pick up with one volatile read. Only content created within app.trending.max-age
+// is ranked. Likes touch an item when LikeService flushes them, so the stored count is current.
+@Service
+public class TrendingFeed implements ContentEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingFeed.class);
+
+    public static final int DEFAULT_LIMIT = 20;
+
+    // Query batch size when re-reading touched items
+    private static final int READ_BATCH = 1000;
+    // Snapshot key of the feed across all categories
+    private static final String ALL = "";
+    private static final double LN2 = Math.log(2);
+
+    private static final String[] DISCUSSION_FIELDS = {
+            "title", "content", "tags", "authorId", "author", "likes", "commentCount", "createdAt"
+    };
+
+    private record Ranked(ContentEvent.Kind kind, Authored source, List<String> categories, LocalDateTime createdAt,
+                          double rank) {
+    }
+
+    private record Snapshot(LocalDateTime computedAt, Map<String, List<TrendingItem>> byCategory) {
+    }
+
+    private final RecipeRepository recipeRepository;
+    private final MongoTemplate mongoTemplate;
+    private final AuthorService authorService;
+    private final double halfLifeSeconds;
+    private final double commentWeight;
+    private final int topK;
+    private final Duration maxAge;
+
+    // Written by any thread, drained by the scheduled run
+    private final Map<String, ContentEvent.Kind> touched = new ConcurrentHashMap<>();
+    // Only used by the scheduled run
+    private final Map<String, Ranked> ranked = new HashMap<>();
+    private boolean loaded;
+    private volatile Snapshot snapshot = new Snapshot(null, Map.of());
+
+    public TrendingFeed(RecipeRepository recipeRepository, MongoTemplate mongoTemplate, AuthorService authorService,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.trending.half-life:24h}") Duration halfLife,
+                        @Value("${app.trending.comment-weight:2}") double commentWeight,
+                        @Value("${app.trending.top-k:100}") int topK,
+                        @Value("${app.trending.max-age:14d}") Duration maxAge) {
+        this.recipeRepository = recipeRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.authorService = authorService;
+        this.halfLifeSeconds = halfLife.toSeconds();
+        this.commentWeight = commentWeight;
+        this.topK = topK;
+        this.maxAge = maxAge;
+        Gauge.builder("trending.items.touched", touched, Map::size).register(meterRegistry);
+    }
+
+    // Marks an item for re-scoring on the next run; cheap enough for any write path
+    public void touch(ContentEvent.Kind kind, String id) {
+        if (kind != ContentEvent.Kind.LEARNING_PLAN && id != null) {
+            touched.put(id, kind);
+        }
+    }
+
+    @Override
+    public void onEvents(List<ContentEvent> events) {
+        for (ContentEvent event : events) {
+            touch(event.kind(), event.contentId());
+        }
+    }
+
+    // category null or blank = all categories. Empty until the first run has completed.
+    public TrendingPage getTrending(String category, Integer limit) {
+        int size = limit != null ? limit : Math.min(DEFAULT_LIMIT, topK);
+        if (size < 1 || size > topK) {
+            throw new IllegalArgumentException("limit must be between 1 and " + topK);
+        }
+        String key = category == null || category.trim().isEmpty() ? ALL : category.trim();
+        Snapshot current = snapshot;
+        List<TrendingItem> items = current.byCategory().getOrDefault(key, List.of());
+        return new TrendingPage(key.isEmpty() ? null : key, current.computedAt(),
+                items.subList(0, Math.min(size, items.size())));
+    }
+
+    // Changes whenever a new snapshot is published; null before the first
+    public LocalDateTime computedAt() {
+        return snapshot.computedAt();
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.interval-ms:30000}")
+    public void refresh() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
+        Map<String, ContentEvent.Kind> batch = drainTouched();
+        try {
+            if (!loaded) {
+                // Everything is read below, including whatever was touched before
+                rescore(recipeRepository.findCategorizedCards(Criteria.where("createdAt").gte(cutoff)),
+                        findDiscussions(Criteria.where("createdAt").gte(cutoff)));
+                loaded = true;
+                logger.info("Trending feed loaded {} items created since {}", ranked.size(), cutoff);
+            } else if (!batch.isEmpty()) {
+                reread(batch, cutoff);
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(touched::putIfAbsent);
+            logger.error("Failed to refresh the trending feed, {} items will be retried: {}", batch.size(), e.getMessage(), e);
+            return;
+        }
+        boolean expired = ranked.values().removeIf(item -> item.createdAt().isBefore(cutoff));
+        if (batch.isEmpty() && !expired && snapshot.computedAt() != null) {
+            return; // same ranking as the published one
+        }
+        publish();
+    }
+
+    private Map<String, ContentEvent.Kind> drainTouched() {
+        Map<String, ContentEvent.Kind> batch = new HashMap<>();
+        for (Iterator<Map.Entry<String, ContentEvent.Kind>> it = touched.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, ContentEvent.Kind> entry = it.next();
+            batch.put(entry.getKey(), entry.getValue());
+            it.remove();
+        }
+        return batch;
+    }
+
+    // Items that no longer exist (or have aged out) are simply not found and are dropped
+    private void reread(Map<String, ContentEvent.Kind> batch, LocalDateTime cutoff) {
+        List<String> recipeIds = new ArrayList<>();
+        List<String> discussionIds = new ArrayList<>();
+        batch.forEach((id, kind) -> (kind == ContentEvent.Kind.RECIPE ? recipeIds : discussionIds).add(id));
+        batch.keySet().forEach(ranked::remove);
+        for (int from = 0; from < recipeIds.size(); from += READ_BATCH) {
+            List<String> ids = recipeIds.subList(from, Math.min(from + READ_BATCH, recipeIds.size()));
+            rescore(recipeRepository.findCategorizedCards(Criteria.where("id").in(ids).and("createdAt").gte(cutoff)), List.of());
+        }
+        for (int from = 0; from < discussionIds.size(); from += READ_BATCH) {
+            List<String> ids = discussionIds.subList(from, Math.min(from + READ_BATCH, discussionIds.size()));
+            rescore(List.of(), findDiscussions(Criteria.where("id").in(ids).and("createdAt").gte(cutoff)));
+        }
+        logger.debug("Re-scored {} trending items", batch.size());
+    }
+
+    private List<Discussion> findDiscussions(Criteria filter) {
+        Query query = Query.query(filter);
+        query.fields().include(DISCUSSION_FIELDS);
+        List<Discussion> discussions = mongoTemplate.find(query, Discussion.class);
+        for (Discussion discussion : discussions) {
+            // Only the excerpt is ever shown
+            String content = discussion.getContent();
+            if (content != null && content.length() > DiscussionSummary.EXCERPT_LENGTH) {
+                discussion.setContent(content.substring(0, DiscussionSummary.EXCERPT_LENGTH));
+            }
+        }
+        return discussions;
+    }
+
+    private void rescore(List<Recipe> recipes, List<Discussion> discussions) {
+        for (Recipe recipe : recipes) {
+            if (recipe.getCreatedAt() != null) {
+                List<String> categories = recipe.getCategories() != null ? recipe.getCategories() : List.of();
+                ranked.put(recipe.getId(), new Ranked(ContentEvent.Kind.RECIPE, recipe, categories, recipe.getCreatedAt(),
+                        rank(recipe.getLikes(), 0, recipe.getCreatedAt())));
+            }
+        }
+        for (Discussion discussion : discussions) {
+            if (discussion.getCreatedAt() != null) {
+                ranked.put(discussion.getId(), new Ranked(ContentEvent.Kind.DISCUSSION, discussion, List.of(),
+                        discussion.getCreatedAt(), rank(discussion.getLikes(), discussion.getCommentCount(), discussion.getCreatedAt())));
+            }
+        }
+    }
+
+    private double rank(Integer likes, Integer comments, LocalDateTime createdAt) {
+        double engagement = 1 + Math.max(0, likes != null ? likes : 0) + commentWeight * Math.max(0, comments != null ? comments : 0);
+        return Math.log(engagement) + LN2 * epochSeconds(createdAt) / halfLifeSeconds;
+    }
+
+    private void publish() {
+        Comparator<Ranked> byRank = Comparator.comparingDouble(Ranked::rank);
+        Map<String, PriorityQueue<Ranked>> heaps = new HashMap<>();
+        for (Ranked item : ranked.values()) {
+            offer(heaps, ALL, item, byRank);
+            for (String category : item.categories()) {
+                offer(heaps, category, item, byRank);
+            }
+        }
+
+        // Authors are hydrated on every publish, so renamed authors show up without a re-read
+        Map<Ranked, TrendingItem> items = new IdentityHashMap<>();
+        heaps.values().forEach(heap -> heap.forEach(item -> items.put(item, null)));
+        authorService.hydrate(items.keySet().stream().map(Ranked::source).toList());
+        LocalDateTime now = LocalDateTime.now();
+        double nowRank = LN2 * epochSeconds(now) / halfLifeSeconds;
+        items.replaceAll((item, unused) -> toItem(item, Math.exp(item.rank() - nowRank)));
+
+        Map<String, List<TrendingItem>> byCategory = new HashMap<>();
+        heaps.forEach((category, heap) -> {
+            List<Ranked> best = new ArrayList<>(heap);
+            best.sort(byRank.reversed());
+            byCategory.put(category, best.stream().map(items::get).toList());
+        });
+        snapshot = new Snapshot(now, Map.copyOf(byCategory));
+        logger.debug("Published trending feed: {} items ranked, {} categories", ranked.size(), byCategory.size());
+    }
+
+    // Keeps the topK best of a category: the heap's head is the weakest item kept
+    private void offer(Map<String, PriorityQueue<Ranked>> heaps, String category, Ranked item, Comparator<Ranked> byRank) {
+        PriorityQueue<Ranked> heap = heaps.computeIfAbsent(category, key -> new PriorityQueue<>(byRank));
+        if (heap.size() < topK) {
+            heap.add(item);
+        } else if (item.rank() > heap.peek().rank()) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    private static TrendingItem toItem(Ranked item, double score) {
+        if (item.kind() == ContentEvent.Kind.RECIPE) {
+            return new TrendingItem("recipe", score, RecipeSummary.from((Recipe) item.source()), null);
+        }
+        return new TrendingItem("discussion", score, null, DiscussionSummary.from((Discussion) item.source()));
+    }
+
+    // createdAt is written with LocalDateTime.now(), i.e. in the server's zone
+    private static long epochSeconds(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
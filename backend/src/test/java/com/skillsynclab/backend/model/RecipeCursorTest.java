@@ -0,0 +1,104 @@
+package com.skillsynclab.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecipeCursorTest {
+
+    private static final String ID = "65f1c0ffee0123456789abcd";
+
+    @Test
+    void roundTripsEverySortKey() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 9, 17, 45, 12, 123_456_789);
+
+        assertRoundTrip(new RecipeCursor(RecipeSort.NEWEST, createdAt, ID));
+        assertRoundTrip(new RecipeCursor(RecipeSort.NEWEST, LocalDateTime.of(2024, 3, 9, 17, 45), ID));
+        assertRoundTrip(new RecipeCursor(RecipeSort.MOST_LIKED, 42, ID));
+        assertRoundTrip(new RecipeCursor(RecipeSort.MOST_LIKED, 0, ID));
+        assertRoundTrip(new RecipeCursor(RecipeSort.QUICKEST, 15, ID));
+    }
+
+    @Test
+    void roundTripsAMissingSortKey() {
+        for (RecipeSort sort : RecipeSort.values()) {
+            RecipeCursor decoded = RecipeCursor.decode(new RecipeCursor(sort, null, ID).encode());
+
+            assertThat(decoded.getSort()).isEqualTo(sort);
+            assertThat(decoded.getLastValue()).isNull();
+            assertThat(decoded.getLastId()).isEqualTo(ID);
+        }
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new RecipeCursor(RecipeSort.NEWEST, LocalDateTime.of(2024, 3, 9, 17, 45, 12, 999_000_000), ID).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void afterTakesTheKeyOfTheSortMode() {
+        Recipe last = new Recipe();
+        last.setId(ID);
+        last.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4));
+        last.setLikes(7);
+        last.setTotalTime(25);
+
+        assertThat(RecipeCursor.after(RecipeSort.NEWEST, last).getLastValue()).isEqualTo(last.getCreatedAt());
+        assertThat(RecipeCursor.after(RecipeSort.MOST_LIKED, last).getLastValue()).isEqualTo(7);
+        assertThat(RecipeCursor.after(RecipeSort.QUICKEST, last).getLastValue()).isEqualTo(25);
+        assertThat(RecipeCursor.after(RecipeSort.QUICKEST, new Recipe()).getLastValue()).isNull();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertInvalid("");
+        assertInvalid("not base64!");
+        assertInvalid(encode("NEWEST|2024-03-09T17:45"));
+        assertInvalid(encode("NEWEST|2024-03-09T17:45|" + ID + "|extra"));
+        assertInvalid(encode("OLDEST||" + ID));
+        assertInvalid(encode("newest||" + ID));
+        assertInvalid(encode("NEWEST|yesterday|" + ID));
+        assertInvalid(encode("MOST_LIKED|2024-03-09T17:45|" + ID));
+        assertInvalid(encode("QUICKEST|1.5|" + ID));
+        assertInvalid(encode("QUICKEST|99999999999|" + ID));
+        assertInvalid(encode("QUICKEST|10|" + ID.substring(1)));
+        assertInvalid(encode("QUICKEST|10|" + ID.replace('a', 'z')));
+        assertInvalid(encode("QUICKEST|10|{\"$gt\":\"\"}"));
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String token = new RecipeCursor(RecipeSort.MOST_LIKED, 12, ID).encode();
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+
+        assertInvalid(encode(raw.replace("12", "12 OR 1")));
+        assertInvalid(encode(raw.replace(ID, ID + "0")));
+        assertInvalid(token.substring(0, token.length() - 1));
+        assertInvalid(token + "*");
+    }
+
+    private static void assertRoundTrip(RecipeCursor cursor) {
+        RecipeCursor decoded = RecipeCursor.decode(cursor.encode());
+
+        assertThat(decoded.getSort()).isEqualTo(cursor.getSort());
+        assertThat(decoded.getLastValue()).isEqualTo(cursor.getLastValue());
+        assertThat(decoded.getLastId()).isEqualTo(cursor.getLastId());
+    }
+
+    private static void assertInvalid(String token) {
+        assertThatThrownBy(() -> RecipeCursor.decode(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,110 @@
+package com.skillsynclab.backend.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.skillsynclab.backend.model.Recipe;
+import com.skillsynclab.backend.model.RecipeCursor;
+import com.skillsynclab.backend.model.RecipeSort;
+import com.skillsynclab.backend.model.RecipeView;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Keyset paging over an in-process MongoDB stand-in. Legacy documents without the sort key sort
+// lowest and must still be reached, exactly once, by following the cursors.
+class RecipeRepositoryImplTest {
+
+    private static MongoServer server;
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static RecipeRepositoryImpl repository;
+
+    @BeforeAll
+    static void startServer() {
+        server = new MongoServer(new MemoryBackend());
+        server.bind("127.0.0.1", 0);
+        InetSocketAddress address = server.getLocalAddress();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "recipes-test");
+        repository = new RecipeRepositoryImpl(mongoTemplate, false);
+
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            Document document = new Document("_id", new ObjectId()).append("title", "Recipe " + i);
+            // Every third document is legacy and lacks the sort keys; the others share a few
+            // values so that page boundaries fall inside runs of equal keys
+            if (i % 3 != 0) {
+                document.append("createdAt", Date.from(base.plusMinutes(i % 4).atZone(ZoneId.systemDefault()).toInstant()))
+                        .append("likes", i % 2)
+                        .append("totalTime", 10 * (i % 3));
+            }
+            documents.add(document);
+        }
+        mongoTemplate.getCollection("recipes").insertMany(documents);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    void pagesReachEveryRecipeOnceInSortOrder() {
+        for (RecipeSort sort : RecipeSort.values()) {
+            List<String> expected = mongoTemplate.find(new Query().with(sort.toSort()), Recipe.class)
+                    .stream().map(Recipe::getId).toList();
+            for (int limit : new int[]{1, 2, 3, 5}) {
+                assertThat(pageThrough(sort, limit)).as("%s, %d per page", sort, limit)
+                        .hasSize(13)
+                        .containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    void cursorOnARecipeWithoutTheSortKeyContinuesAmongTheLegacyRecipes() {
+        for (RecipeSort sort : RecipeSort.values()) {
+            List<Recipe> all = mongoTemplate.find(new Query().with(sort.toSort()), Recipe.class);
+            int firstLegacy = sort == RecipeSort.QUICKEST ? 0 : all.size() - 5;
+            Recipe legacy = all.get(firstLegacy);
+            assertThat(RecipeCursor.after(sort, legacy).getLastValue()).as("%s", sort).isNull();
+
+            List<Recipe> rest = repository.findPage(sort, RecipeCursor.after(sort, legacy), 20, RecipeView.FULL, null);
+
+            assertThat(rest).extracting(Recipe::getId).as("%s", sort)
+                    .containsExactlyElementsOf(all.subList(firstLegacy + 1, all.size()).stream().map(Recipe::getId).toList());
+        }
+    }
+
+    private static List<String> pageThrough(RecipeSort sort, int limit) {
+        List<String> ids = new ArrayList<>();
+        RecipeCursor cursor = null;
+        for (int page = 0; page < 20; page++) {
+            List<Recipe> recipes = repository.findPage(sort, cursor, limit, RecipeView.FULL, null);
+            if (recipes.isEmpty()) {
+                break;
+            }
+            recipes.forEach(recipe -> ids.add(recipe.getId()));
+            // Through the token, as a client would pass it back
+            cursor = RecipeCursor.decode(RecipeCursor.after(sort, recipes.get(recipes.size() - 1)).encode());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,154 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.AutocompleteSuggestion;
+import com.skillsynclab.backend.model.AutocompleteType;
+import com.skillsynclab.backend.model.Ingredient;
+import com.skillsynclab.backend.model.Recipe;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AutocompleteIndexTest {
+
+    @Test
+    void prefixWithoutKeysHasAnEmptyRange() {
+        AutocompleteIndex.PrefixTable table = table(false, "apple", 1, "banana", 2);
+
+        assertThat(table.bound(bytes("cherry"), false)).isEqualTo(table.bound(bytes("cherry"), true));
+        assertThat(table.bound(bytes("0"), false)).isZero();
+        assertThat(table.bound(bytes("zz"), true)).isEqualTo(2);
+        assertThat(top(table, "cherry", 10)).isEmpty();
+        assertThat(top(table, "ab", 10)).isEmpty();
+    }
+
+    @Test
+    void prefixLongerThanTheKeyDoesNotMatchIt() {
+        AutocompleteIndex.PrefixTable table = table(false, "egg", 1, "eggplant", 2);
+
+        assertThat(top(table, "eggs", 10)).isEmpty();
+        assertThat(top(table, "eggplants", 10)).isEmpty();
+        assertThat(top(table, "egg", 10)).containsExactly("eggplant", "egg");
+    }
+
+    @Test
+    void multiByteKeysSortAfterAscii() {
+        AutocompleteIndex.PrefixTable table = table(false,
+                "øl", 1, "zucchini", 2, "寿司", 3, "寿司ロール", 4, "sushi", 5);
+
+        assertThat(top(table, "ø", 10)).containsExactly("øl");
+        assertThat(top(table, "z", 10)).containsExactly("zucchini");
+        assertThat(top(table, "寿司", 10)).containsExactly("寿司ロール", "寿司");
+        assertThat(top(table, "寿司ロ", 10)).containsExactly("寿司ロール");
+        assertThat(top(table, "s", 10)).containsExactly("sushi");
+    }
+
+    @Test
+    void topReturnsTheHeaviestCompletionsFirst() {
+        AutocompleteIndex.PrefixTable table = table(false,
+                "pasta", 3, "pad thai", 7, "paella", 5, "pancake", 1, "pavlova", 9, "pie", 100);
+
+        List<AutocompleteSuggestion> top = table.top(bytes("pa"), 3, AutocompleteType.TITLE);
+
+        assertThat(top).extracting(AutocompleteSuggestion::getText).containsExactly("pavlova", "pad thai", "paella");
+        assertThat(top).extracting(AutocompleteSuggestion::getWeight).containsExactly(9L, 7L, 5L);
+        assertThat(top).extracting(AutocompleteSuggestion::getType).containsOnly(AutocompleteType.TITLE);
+        assertThat(top(table, "pa", 10)).containsExactly("pavlova", "pad thai", "paella", "pasta", "pancake");
+    }
+
+    @Test
+    void spellingsOfOneTextAreMergedAndTheFirstIsDisplayed() {
+        AutocompleteIndex.TableBuilder builder = new AutocompleteIndex.TableBuilder();
+        builder.add("Crème  Brûlée", 2);
+        builder.add(" creme brulee ", 3);
+        builder.add("   ", 4);
+        builder.add(null, 4);
+
+        List<AutocompleteSuggestion> top = builder.build(false).top(bytes("cre"), 10, AutocompleteType.TITLE);
+
+        assertThat(top).extracting(AutocompleteSuggestion::getText).containsExactly("Crème Brûlée");
+        assertThat(top).extracting(AutocompleteSuggestion::getWeight).containsExactly(5L);
+    }
+
+    @Test
+    void titleReachedFromSeveralWordsIsReturnedOnce() {
+        AutocompleteIndex.PrefixTable table = table(true, "Chocolate Cake", 5, "Carrot Cake", 3, "Cake Pops", 1);
+
+        assertThat(top(table, "c", 10)).containsExactly("Chocolate Cake", "Carrot Cake", "Cake Pops");
+        assertThat(top(table, "cake", 2)).containsExactly("Chocolate Cake", "Carrot Cake");
+        assertThat(top(table, "pops", 10)).containsExactly("Cake Pops");
+    }
+
+    @Test
+    void heaviestFindsTheMaximumOfAnyRange() {
+        // Keys sort as a, b, c, d, e; five leaves exercise a tree that is not a power of two
+        AutocompleteIndex.PrefixTable table = table(false, "a", 3, "b", 9, "c", 1, "d", 4, "e", 2);
+
+        assertThat(table.heaviest(0, 5)).isEqualTo(1);
+        assertThat(table.heaviest(2, 5)).isEqualTo(3);
+        assertThat(table.heaviest(2, 3)).isEqualTo(2);
+        assertThat(table.heaviest(4, 5)).isEqualTo(4);
+        assertThat(table.heaviest(0, 1)).isZero();
+    }
+
+    @Test
+    void suggestMergesTypesAndPublishesTableSizes() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AutocompleteIndex index = new AutocompleteIndex(mongoTemplate, meterRegistry);
+        Recipe cake = recipe("Carrot Cake", 4, List.of("2 Carrots", "carrot", "flour"), List.of("Cozy", "cozy"));
+        Recipe curry = recipe("Chickpea Curry", 0, List.of("chickpeas"), List.of("vegan"));
+        when(mongoTemplate.stream(any(Query.class), eq(Recipe.class))).thenReturn(Stream.of(cake, curry));
+
+        assertThat(meterRegistry.get("autocomplete.index.terms").tag("type", "title").gauge().value()).isZero();
+        index.rebuild();
+
+        assertThat(index.suggest("c", null, 3)).extracting(AutocompleteSuggestion::getText, AutocompleteSuggestion::getWeight)
+                .containsExactly(
+                        tuple("Carrot Cake", 5L),
+                        tuple("carrot", 5L),
+                        tuple("Cozy", 5L));
+        assertThat(index.suggest("CHICK", AutocompleteType.INGREDIENT, null))
+                .extracting(AutocompleteSuggestion::getText).containsExactly("chickpea");
+        assertThat(meterRegistry.get("autocomplete.index.terms").tag("type", "title").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("autocomplete.index.terms").tag("type", "ingredient").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("autocomplete.index.memory").tag("type", "tag").gauge().value()).isPositive();
+    }
+
+    // Alternating text, weight pairs
+    private static AutocompleteIndex.PrefixTable table(boolean wordStarts, Object... entries) {
+        AutocompleteIndex.TableBuilder builder = new AutocompleteIndex.TableBuilder();
+        for (int i = 0; i < entries.length; i += 2) {
+            builder.add((String) entries[i], ((Integer) entries[i + 1]).longValue());
+        }
+        return builder.build(wordStarts);
+    }
+
+    private static List<String> top(AutocompleteIndex.PrefixTable table, String prefix, int limit) {
+        return table.top(bytes(prefix), limit, AutocompleteType.TITLE).stream().map(AutocompleteSuggestion::getText).toList();
+    }
+
+    private static byte[] bytes(String prefix) {
+        return AutocompleteIndex.normalize(prefix).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Recipe recipe(String title, int likes, List<String> ingredients, List<String> tags) {
+        Recipe recipe = new Recipe();
+        recipe.setTitle(title);
+        recipe.setLikes(likes);
+        recipe.setIngredients(ingredients.stream().map(name -> new Ingredient(null, name, "1", "pc")).toList());
+        recipe.setTags(tags);
+        return recipe;
+    }
+}
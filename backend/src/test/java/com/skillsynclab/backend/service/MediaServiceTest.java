@@ -0,0 +1,56 @@
+package com.skillsynclab.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MediaServiceTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10};
+    private static final byte[] SVG = "<svg xmlns=\"http://www.w3.org/2000/svg\">".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void detectsSupportedSignatures() {
+        assertThat(MediaService.detectContentType(PNG)).isEqualTo("image/png");
+        assertThat(MediaService.detectContentType(JPEG)).isEqualTo("image/jpeg");
+        assertThat(MediaService.detectContentType(ascii("GIF89a..."))).isEqualTo("image/gif");
+        assertThat(MediaService.detectContentType(ascii("RIFF\0\0\0\0WEBPVP8 "))).isEqualTo("image/webp");
+        assertThat(MediaService.detectContentType(ascii("\0\0\0\u0018ftypisom"))).isEqualTo("video/mp4");
+        assertThat(MediaService.detectContentType(ascii("\0\0\0\u0014ftypqt  "))).isEqualTo("video/quicktime");
+        assertThat(MediaService.detectContentType(ascii("OggS\0\u0002"))).isEqualTo("video/ogg");
+    }
+
+    @Test
+    void rejectsUnknownAndTruncatedContent() {
+        assertThat(MediaService.detectContentType(SVG)).isNull();
+        assertThat(MediaService.detectContentType(new byte[0])).isNull();
+        assertThat(MediaService.detectContentType(new byte[]{(byte) 0x89, 'P', 'N'})).isNull();
+    }
+
+    @Test
+    void declaredTypeMustMatchTheBytes() {
+        assertThat(MediaService.verifiedContentType("image/png", PNG)).isEqualTo("image/png");
+        assertThat(MediaService.verifiedContentType("image/jpg", JPEG)).isEqualTo("image/jpeg");
+        assertThatThrownBy(() -> MediaService.verifiedContentType("image/png", SVG))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MediaService.verifiedContentType("image/gif", PNG))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void onlyRasterImagesAndVideoAreSupported() {
+        assertThat(MediaService.isSupportedContentType("image/webp")).isTrue();
+        assertThat(MediaService.isSupportedContentType("video/mp4")).isTrue();
+        assertThat(MediaService.isSupportedContentType("image/svg+xml")).isFalse();
+        assertThat(MediaService.isSupportedContentType("text/html")).isFalse();
+        assertThat(MediaService.isSupportedContentType(null)).isFalse();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
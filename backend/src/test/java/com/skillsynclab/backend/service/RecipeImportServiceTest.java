@@ -0,0 +1,81 @@
+package com.skillsynclab.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsynclab.backend.model.BulkImportReport;
+import com.skillsynclab.backend.model.BulkImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecipeImportServiceTest {
+
+    private static final String RECIPE = "{\"title\":\"Pancakes\",\"description\":\"d\",\"authorId\":\"a1\","
+            + "\"ingredients\":[{\"name\":\"egg\",\"quantity\":\"1\",\"unit\":\"pc\"}],"
+            + "\"steps\":[{\"instruction\":\"cook\",\"order\":1}]}";
+
+    private RecipeImportService service;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulk = mock(BulkOperations.class, Answers.RETURNS_SELF);
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), any(Class.class))).thenReturn(bulk);
+        service = new RecipeImportService();
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(service, "recipeService", mock(RecipeService.class));
+        ReflectionTestUtils.setField(service, "authorService", mock(AuthorService.class));
+        ReflectionTestUtils.setField(service, "contentEvents", mock(ContentEventPipeline.class));
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+        ReflectionTestUtils.setField(service, "maxItems", 50000);
+    }
+
+    @Test
+    void garbageLineAfterValidItemKeepsTheItem() throws Exception {
+        BulkImportReport report = importBody(RECIPE + "\n" + RECIPE + "\nthis is not json\n" + RECIPE + "\n");
+
+        assertThat(report.getCreated()).isEqualTo(2);
+        assertThat(report.getReceived()).isEqualTo(2);
+        List<BulkImportResult> results = report.getResults();
+        assertThat(results).extracting(BulkImportResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(results.get(0).getStatus()).isEqualTo(BulkImportResult.Status.CREATED);
+        assertThat(results.get(1).getStatus()).isEqualTo(BulkImportResult.Status.CREATED);
+        assertThat(results.get(2).getStatus()).isEqualTo(BulkImportResult.Status.FAILED);
+        assertThat(results.get(2).getError()).startsWith("Malformed JSON");
+    }
+
+    @Test
+    void garbageAfterLastArrayItemKeepsTheItem() throws Exception {
+        BulkImportReport report = importBody("[" + RECIPE + ", }");
+
+        assertThat(report.getCreated()).isEqualTo(1);
+        assertThat(report.getResults()).extracting(BulkImportResult::getIndex).containsExactly(0, 1);
+        assertThat(report.getResults().get(1).getError()).startsWith("Malformed JSON");
+    }
+
+    @Test
+    void invalidItemFailsAloneAndImportContinues() throws Exception {
+        BulkImportReport report = importBody(RECIPE + "\n[1, 2]\n" + RECIPE + "\n");
+
+        assertThat(report.getCreated()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getResults().get(1).getError()).isEqualTo("Item must be a JSON object");
+    }
+
+    private BulkImportReport importBody(String body) throws Exception {
+        return service.importRecipes(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
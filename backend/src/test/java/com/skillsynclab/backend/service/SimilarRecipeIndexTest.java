@@ -0,0 +1,158 @@
+package com.skillsynclab.backend.service;
+
+import com.skillsynclab.backend.model.Ingredient;
+import com.skillsynclab.backend.model.Recipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SimilarRecipeIndexTest {
+
+    private MongoTemplate mongoTemplate;
+    private SimilarRecipeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        index = new SimilarRecipeIndex(mongoTemplate);
+    }
+
+    @Test
+    void featuresAreSortedDistinctAndNormalized() {
+        long[] features = SimilarRecipeIndex.features(
+                recipe("r1", List.of("2 Fresh Tomatoes, diced", "tomato", "Egg"), List.of(" Quick ", "quick"), List.of()));
+
+        assertThat(features).hasSize(3).isSorted();
+        assertThat(features).isEqualTo(SimilarRecipeIndex.features(
+                recipe("r2", List.of("egg", "tomato"), List.of("quick"), null)));
+    }
+
+    @Test
+    void featuresKeepTagsAndCategoriesApart() {
+        long[] tag = SimilarRecipeIndex.features(recipe("r1", null, List.of("vegan"), null));
+        long[] category = SimilarRecipeIndex.features(recipe("r2", null, null, List.of("vegan")));
+
+        assertThat(tag).hasSize(1);
+        assertThat(category).hasSize(1);
+        assertThat(tag).isNotEqualTo(category);
+    }
+
+    @Test
+    void featuresSkipBlankValues() {
+        assertThat(SimilarRecipeIndex.features(recipe("r1", List.of(" ", "fresh"), List.of(""), null))).isEmpty();
+        assertThat(SimilarRecipeIndex.features(new Recipe())).isEmpty();
+    }
+
+    @Test
+    void bandKeysDependOnlyOnTheFeatures() {
+        long[] features = SimilarRecipeIndex.features(recipe("r1", List.of("egg", "flour", "milk"), List.of("sweet"), null));
+        long[] keys = SimilarRecipeIndex.bandKeys(features);
+
+        assertThat(keys).hasSize(SimilarRecipeIndex.BANDS);
+        assertThat(SimilarRecipeIndex.bandKeys(features.clone())).isEqualTo(keys);
+        assertThat(keys).doesNotHaveDuplicates(); // the band number is mixed into each key
+
+        long[] other = SimilarRecipeIndex.bandKeys(
+                SimilarRecipeIndex.features(recipe("r2", List.of("rice", "beans"), List.of("savory"), null)));
+        int sharedBands = 0;
+        for (int band = 0; band < SimilarRecipeIndex.BANDS; band++) {
+            if (keys[band] == other[band]) {
+                sharedBands++;
+            }
+        }
+        assertThat(sharedBands).isZero();
+    }
+
+    @Test
+    void jaccardOfSortedSets() {
+        assertThat(SimilarRecipeIndex.jaccard(new long[]{1, 2, 3}, new long[]{1, 2, 3})).isEqualTo(1.0);
+        assertThat(SimilarRecipeIndex.jaccard(new long[]{1, 2}, new long[]{3, 4})).isEqualTo(0.0);
+        assertThat(SimilarRecipeIndex.jaccard(new long[]{-5, 1, 2, 7}, new long[]{1, 2, 9})).isCloseTo(0.4, within(1e-9));
+        assertThat(SimilarRecipeIndex.jaccard(new long[0], new long[0])).isEqualTo(0.0);
+        assertThat(SimilarRecipeIndex.jaccard(new long[0], new long[]{1})).isEqualTo(0.0);
+    }
+
+    @Test
+    void similarRanksBestFirstAndExcludesTheQuery() {
+        index.put(recipe("query", List.of("egg", "flour", "milk", "sugar", "butter"), List.of("sweet"), null));
+        index.put(recipe("same", List.of("egg", "flour", "milk", "sugar", "butter"), List.of("sweet"), null));
+        index.put(recipe("close", List.of("egg", "flour", "milk", "sugar", "butter"), List.of("sweet", "quick"), null));
+        index.put(recipe("unrelated", List.of("rice", "beans", "onion"), List.of("savory"), null));
+        index.put(recipe("empty", null, null, null));
+
+        List<SimilarRecipeIndex.Match> matches = index.similar("query", 10);
+
+        assertThat(matches).extracting(SimilarRecipeIndex.Match::recipeId).containsExactly("same", "close");
+        assertThat(matches.get(0).similarity()).isEqualTo(1.0);
+        assertThat(matches.get(1).similarity()).isCloseTo(6.0 / 7, within(1e-9));
+        assertThat(index.similar("query", 1)).extracting(SimilarRecipeIndex.Match::recipeId).containsExactly("same");
+        assertThat(index.similar("missing", 10)).isEmpty();
+        assertThat(index.contains("empty")).isFalse();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void removedRecipesAreNoLongerSimilar() {
+        index.put(recipe("a", List.of("egg", "flour"), null, null));
+        index.put(recipe("b", List.of("egg", "flour"), null, null));
+
+        index.remove("b");
+
+        assertThat(index.similar("a", 10)).isEmpty();
+        assertThat(index.contains("b")).isFalse();
+    }
+
+    @Test
+    void writesDuringABuildWinOverWhatTheBuildRead() throws Exception {
+        Recipe staleUpdated = recipe("updated", List.of("rice", "beans"), null, null);
+        Recipe deleted = recipe("deleted", List.of("egg", "flour", "milk"), null, null);
+        Recipe base = recipe("base", List.of("egg", "flour", "milk"), null, null);
+        // The stream yields "updated" in its old state, then the writes race it, then it yields
+        // "deleted" although the live index has already dropped it
+        Stream<Recipe> stream = Stream.of(staleUpdated, base, deleted).peek(recipe -> {
+            if (recipe == base) {
+                index.put(recipe("updated", List.of("egg", "flour", "milk"), null, null));
+                index.put(recipe("created", List.of("egg", "flour", "milk"), null, null));
+                index.remove("deleted");
+            }
+        });
+        when(mongoTemplate.stream(any(Query.class), eq(Recipe.class))).thenReturn(stream);
+
+        assertThat(index.rebuild()).isTrue();
+        awaitReady();
+
+        assertThat(index.contains("deleted")).isFalse();
+        assertThat(index.similar("base", 10)).extracting(SimilarRecipeIndex.Match::recipeId)
+                .containsExactlyInAnyOrder("updated", "created");
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    private void awaitReady() throws InterruptedException {
+        for (int i = 0; i < 500 && !index.isReady(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(index.isReady()).isTrue();
+    }
+
+    private static Recipe recipe(String id, List<String> ingredients, List<String> tags, List<String> categories) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        if (ingredients != null) {
+            recipe.setIngredients(ingredients.stream().map(name -> new Ingredient(null, name, "1", "pc")).toList());
+        }
+        recipe.setTags(tags);
+        recipe.setCategories(categories);
+        return recipe;
+    }
+}
@@ -0,0 +1,10 @@
+import api from './axios';
+import { AutocompleteSuggestion, AutocompleteType } from '@/types';
+
+// Completions of what the user has typed so far, most popular first; no type mixes titles, ingredients and tags
+export const getSuggestions = async (prefix: string, type?: AutocompleteType, limit = 10): Promise<AutocompleteSuggestion[]> => {
+  const response = await api.get<AutocompleteSuggestion[]>('/api/autocomplete', {
+    params: { prefix, type: type?.toLowerCase(), limit },
+  });
+  return response.data;
+};
@@ -0,0 +1,32 @@
+import api from './axios';
+import { DiscussionSummary, RecipeSummary, TrendingPage } from '@/types';
+
+// Handlers for GET /api/feed/stream (Server-Sent Events)
+export interface FeedHandlers {
+  onRecipe?: (recipe: RecipeSummary) => void;
+  onDiscussion?: (discussion: DiscussionSummary) => void;
+  // Events were missed (e.g. a long disconnect): reload the lists instead of patching them
+  onReset?: () => void;
+}
+
+// Subscribes to new recipes and discussions; returns a function that closes the stream.
+// EventSource reconnects by itself and resumes from the last event it received.
+export const subscribeToFeed = (handlers: FeedHandlers): (() => void) => {
+  const source = new EventSource(`${api.defaults.baseURL}/api/feed/stream`);
+  source.addEventListener('recipe', (event) => {
+    handlers.onRecipe?.(JSON.parse((event as MessageEvent).data) as RecipeSummary);
+  });
+  source.addEventListener('discussion', (event) => {
+    handlers.onDiscussion?.(JSON.parse((event as MessageEvent).data) as DiscussionSummary);
+  });
+  source.addEventListener('reset', () => {
+    handlers.onReset?.();
+  });
+  return () => source.close();
+};
+
+// Trending recipes and discussions, best first; no category means across all categories
+export const getTrending = async (category?: string, limit = 20): Promise<TrendingPage> => {
+  const response = await api.get<TrendingPage>('/api/feed/trending', { params: { category, limit } });
+  return response.data;
+};
@@ -0,0 +1,27 @@
+import api from './axios';
+
+// Response of POST /api/media, aligned with MediaUpload.java
+export interface MediaUpload {
+  id: string;
+  url: string; // Short relative URL, e.g. /api/media/{id}
+  contentType: string;
+  size: number;
+}
+
+// Uploads a file to the GridFS media store and returns the URL to save on the recipe/discussion
+export const uploadMedia = async (file: File): Promise<string> => {
+  const formData = new FormData();
+  formData.append('file', file);
+  const response = await api.post<MediaUpload>('/api/media', formData, {
+    headers: { 'Content-Type': 'multipart/form-data' },
+  });
+  return response.data.url;
+};
+
+// Media URLs are stored relative to the backend; absolute and legacy data: URLs pass through unchanged
+export const resolveMediaUrl = (url?: string): string | undefined => {
+  if (url && url.startsWith('/api/media/')) {
+    return `${api.defaults.baseURL}${url}`;
+  }
+  return url;
+};
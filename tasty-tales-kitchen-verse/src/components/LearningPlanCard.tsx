@@ -3,6 +3,7 @@ import { Clock, Award, ChevronRight } from 'lucide-react';
 import { Button } from '@/components/ui/button';
 import { Progress } from '@/components/ui/progress';
 import { LearningPlan } from '@/types';
+import { resolveMediaUrl } from '@/api/media';
 
 interface LearningPlanCardProps {
   learningPlan: LearningPlan;
@@ -29,7 +30,7 @@ const LearningPlanCard = ({ learningPlan }: LearningPlanCardProps) => {
     <div className="tasty-card overflow-hidden group relative flex flex-col bg-white rounded-lg shadow-sm hover:shadow-md transition-shadow">
       <div className="relative">
         <img
-          src={imageUrl || 'https://via.placeholder.com/400x300?text=Learning+Plan'}
+          src={resolveMediaUrl(imageUrl) || 'https://via.placeholder.com/400x300?text=Learning+Plan'}
           alt={title}
           className="w-full h-48 object-cover"
         />
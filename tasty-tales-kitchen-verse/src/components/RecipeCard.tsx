@@ -2,6 +2,7 @@
 import { Link } from 'react-router-dom';
 import { Clock, User, Heart } from 'lucide-react';
 import { Recipe } from '@/types';
+import { resolveMediaUrl } from '@/api/media';
 import { AspectRatio } from '@/components/ui/aspect-ratio';
 import { Badge } from '@/components/ui/badge';
 
@@ -17,7 +18,7 @@ const RecipeCard = ({ recipe }: RecipeCardProps) => {
       <Link to={`/recipes/${recipe.id}`}>
         <AspectRatio ratio={16 / 9}>
           <img 
-            src={recipe.imageUrls[0]} 
+            src={resolveMediaUrl(recipe.imageUrls[0])} 
             alt={recipe.title} 
             className="object-cover w-full h-full rounded-t-lg"
           />
@@ -3,6 +3,7 @@ import { useForm } from 'react-hook-form';
 import { useNavigate } from 'react-router-dom';
 import { Plus, Upload, X } from 'lucide-react';
 import { toast } from 'sonner';
+import { resolveMediaUrl, uploadMedia } from '@/api/media';
 import axios from 'axios';
 import Header from '@/components/Header';
 import Footer from '@/components/Footer';
@@ -46,14 +47,14 @@ const AddDiscussion = () => {
       return;
     }
 
-    Array.from(files).forEach(file => {
-      const reader = new FileReader();
-      reader.onload = (e) => {
-        if (e.target?.result) {
-          setImages(prev => [...prev, e.target.result as string]);
-        }
-      };
-      reader.readAsDataURL(file);
+    Array.from(files).forEach(async file => {
+      try {
+        const url = await uploadMedia(file);
+        setImages(prev => [...prev, url]);
+      } catch (error) {
+        console.error('Error uploading image:', error);
+        toast.error(`Failed to upload ${file.name}`);
+      }
     });
   };
 
@@ -159,7 +160,7 @@ const AddDiscussion = () => {
                     <div className="flex flex-wrap gap-4 mb-4">
                       {images.map((img, index) => (
                         <div key={index} className="relative w-32 h-32">
-                          <img src={img} alt={`Discussion ${index}`} className="w-full h-full object-cover rounded-md" />
+                          <img src={resolveMediaUrl(img)} alt={`Discussion ${index}`} className="w-full h-full object-cover rounded-md" />
                           <button
                             type="button"
                             onClick={() => removeImage(index)}
@@ -3,6 +3,7 @@ import { useForm } from 'react-hook-form';
 import { useNavigate } from 'react-router-dom';
 import { Upload, X, Plus } from 'lucide-react';
 import { toast } from 'sonner';
+import { resolveMediaUrl, uploadMedia } from '@/api/media';
 import axios from 'axios';
 import { v4 as uuidv4 } from 'uuid';
 import Header from '@/components/Header';
@@ -60,14 +61,14 @@ const AddRecipe = () => {
       return;
     }
 
-    Array.from(files).forEach(file => {
-      const reader = new FileReader();
-      reader.onload = (ev) => {
-        if (ev.target?.result) {
-          setImageUrls(prev => [...prev, ev.target.result as string]);
-        }
-      };
-      reader.readAsDataURL(file);
+    Array.from(files).forEach(async file => {
+      try {
+        const url = await uploadMedia(file);
+        setImageUrls(prev => [...prev, url]);
+      } catch (error) {
+        console.error('Error uploading image:', error);
+        toast.error(`Failed to upload ${file.name}`);
+      }
     });
   };
 
@@ -454,7 +455,7 @@ const AddRecipe = () => {
                       {imageUrls.map((img, index) => (
                         <div key={index} className="relative w-32 h-32">
                           <img
-                            src={img}
+                            src={resolveMediaUrl(img)}
                             alt={`Recipe ${index + 1}`}
                             className="w-full h-full object-cover rounded-md border border-[#E8D8B8]"
                           />
@@ -4,6 +4,7 @@ import { useNavigate, useParams } from 'react-router-dom';
 import { Plus, Minus, Upload, X } from 'lucide-react';
 import { v4 as uuidv4 } from 'uuid';
 import { toast } from 'sonner';
+import { resolveMediaUrl, uploadMedia } from '@/api/media';
 import api from '@/api/axios';
 import Header from '@/components/Header';
 import Footer from '@/components/Footer';
@@ -126,17 +127,16 @@ const addStep = () => {
     );
   };
 
-  const handleImageSelect = (e: React.ChangeEvent<HTMLInputElement>) => {
+  const handleImageSelect = async (e: React.ChangeEvent<HTMLInputElement>) => {
     const file = e.target.files?.[0];
     if (!file) return;
 
-    const reader = new FileReader();
-    reader.onload = (e) => {
-      if (e.target?.result) {
-        setImageUrl(e.target.result as string);
-      }
-    };
-    reader.readAsDataURL(file);
+    try {
+      setImageUrl(await uploadMedia(file));
+    } catch (error) {
+      console.error('Error uploading image:', error);
+      toast.error('Failed to upload image');
+    }
   };
 
   const removeImage = () => {
@@ -302,7 +302,7 @@ const addStep = () => {
                     {imageUrl ? (
                       <div className="relative w-full max-w-sm">
                         <img
-                          src={imageUrl}
+                          src={resolveMediaUrl(imageUrl)}
                           alt="Learning Plan Cover"
                           className="w-full h-auto rounded-md"
                         />
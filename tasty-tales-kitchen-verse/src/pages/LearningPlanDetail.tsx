@@ -3,6 +3,7 @@ import { useParams, Link, useNavigate } from 'react-router-dom';
 import { Clock, Award, BookOpen, Check, Edit, Trash, ArrowLeft } from 'lucide-react';
 import { toast } from 'sonner';
 import api from '@/api/axios';
+import { resolveMediaUrl } from '@/api/media';
 import Header from '@/components/Header';
 import Footer from '@/components/Footer';
 import { Button } from '@/components/ui/button';
@@ -211,7 +212,7 @@ const LearningPlanDetail = () => {
             </div>
           </div>
           <img 
-            src={learningPlan.imageUrl || 'https://via.placeholder.com/1200x400?text=Learning+Plan'} 
+            src={resolveMediaUrl(learningPlan.imageUrl) || 'https://via.placeholder.com/1200x400?text=Learning+Plan'} 
             alt={learningPlan.title} 
             className="w-full h-72 md:h-96 object-cover"
           />
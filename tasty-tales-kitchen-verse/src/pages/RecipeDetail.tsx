@@ -10,7 +10,8 @@ import Header from '@/components/Header';
 import Footer from '@/components/Footer';
 import axios from 'axios';
 import { toast } from 'sonner';
-import { Recipe } from '@/types';
+import { Recipe, RecipeSummary, SimilarRecipe } from '@/types';
+import { resolveMediaUrl } from '@/api/media';
 
 // TODO: Replace this with actual user ID from authentication system
 
@@ -29,7 +30,7 @@ const RecipeDetail = () => {
   const [activeImage, setActiveImage] = useState(0);
   const [isLiked, setIsLiked] = useState(false);
   const [isSaved, setIsSaved] = useState(false);
-  const [similarRecipes, setSimilarRecipes] = useState<Recipe[]>([]);
+  const [similarRecipes, setSimilarRecipes] = useState<RecipeSummary[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const currentUserId = getCurrentUserId();
@@ -58,8 +59,10 @@ const RecipeDetail = () => {
 
     const fetchSimilarRecipes = async () => {
       try {
-        const response = await axios.get('http://localhost:8081/api/recipes');
-        setSimilarRecipes(response.data.filter((r: Recipe) => r.id !== id).slice(0, 3));
+        const response = await axios.get<SimilarRecipe[]>(`http://localhost:8081/api/recipes/${id}/similar`, {
+          params: { k: 3 },
+        });
+        setSimilarRecipes(response.data.map((match) => match.recipe));
       } catch (error) {
         console.error('Error fetching similar recipes:', error);
         toast.error('Failed to load similar recipes');
@@ -84,6 +87,21 @@ const RecipeDetail = () => {
     }
   };
 
+  const handleLike = async () => {
+    if (!recipe) return;
+    try {
+      const params = { userId: currentUserId };
+      const response = isLiked
+        ? await axios.delete(`http://localhost:8081/api/recipes/${id}/like`, { params })
+        : await axios.post(`http://localhost:8081/api/recipes/${id}/like`, null, { params });
+      setIsLiked(response.data.liked);
+      setRecipe({ ...recipe, likes: response.data.likes });
+    } catch (error: any) {
+      console.error('Error updating like:', error.response?.data || error.message);
+      toast.error('Failed to update like');
+    }
+  };
+
   if (loading) {
     return (
       <div className="min-h-screen flex flex-col">
@@ -202,10 +220,10 @@ const RecipeDetail = () => {
                   variant="outline" 
                   size="sm" 
                   className={isLiked ? "text-tasty-primary border-tasty-primary" : ""}
-                  onClick={() => setIsLiked(!isLiked)}
+                  onClick={handleLike}
                 >
                   <Heart className={`h-4 w-4 mr-1 ${isLiked ? "fill-tasty-primary" : ""}`} />
-                  {isLiked ? recipe.likes + 1 : recipe.likes}
+                  {recipe.likes}
                 </Button>
                 <Button variant="outline" size="sm">
                   <MessageCircle className="h-4 w-4 mr-1" />
@@ -233,7 +251,7 @@ const RecipeDetail = () => {
           <div className="mb-8">
             <AspectRatio ratio={16 / 9} className="bg-gray-100 rounded-lg overflow-hidden mb-2">
               <img 
-                src={recipe.imageUrls[activeImage]} 
+                src={resolveMediaUrl(recipe.imageUrls[activeImage])} 
                 alt={`${recipe.title} - image ${activeImage + 1}`}
                 className="object-cover w-full h-full"
               />
@@ -247,7 +265,7 @@ const RecipeDetail = () => {
                     className={`w-20 h-20 rounded-md overflow-hidden flex-shrink-0 ${index === activeImage ? 'ring-2 ring-tasty-primary' : ''}`}
                   >
                     <img 
-                      src={imageUrl} 
+                      src={resolveMediaUrl(imageUrl)} 
                       alt={`${recipe.title} - thumbnail ${index + 1}`}
                       className="object-cover w-full h-full"
                     />
@@ -301,7 +319,7 @@ const RecipeDetail = () => {
                       <p className="text-gray-800">{step.instruction}</p>
                       {step.imageUrl && (
                         <img 
-                          src={step.imageUrl} 
+                          src={resolveMediaUrl(step.imageUrl)} 
                           alt={`Step ${step.order}`}
                           className="mt-3 rounded-md w-full max-w-md"
                         />
@@ -341,7 +359,7 @@ const RecipeDetail = () => {
                   <Link to={`/recipes/${similarRecipe.id}`}>
                     <AspectRatio ratio={16 / 9}>
                       <img 
-                        src={similarRecipe.imageUrls[0]} 
+                        src={resolveMediaUrl(similarRecipe.imageUrl)} 
                         alt={similarRecipe.title} 
                         className="object-cover w-full h-full rounded-t-lg"
                       />
@@ -355,7 +373,7 @@ const RecipeDetail = () => {
                     </Link>
                     <div className="flex items-center mt-2 text-sm text-gray-500">
                       <Clock className="h-4 w-4 mr-1" />
-                      <span>{similarRecipe.preparationTime + similarRecipe.cookingTime} min</span>
+                      <span>{similarRecipe.totalTime} min</span>
                       <span className="mx-2">•</span>
                       <Badge variant="outline" className="text-xs">
                         {similarRecipe.difficulty}
@@ -9,7 +9,7 @@ import Header from '@/components/Header';
 import Footer from '@/components/Footer';
 import RecipeCard from '@/components/RecipeCard';
 import { toast } from 'sonner';
-import { Recipe } from '@/types';
+import { Recipe, RecipePage } from '@/types';
 
 const Recipes = () => {
   const [searchQuery, setSearchQuery] = useState('');
@@ -20,8 +20,10 @@ const Recipes = () => {
     // Fetch recipes from backend
     const fetchRecipes = async () => {
       try {
-        const response = await axios.get('http://localhost:8081/api/recipes');
-        setRecipes(response.data);
+        const response = await axios.get<RecipePage>('http://localhost:8081/api/recipes', {
+          params: { limit: 24 },
+        });
+        setRecipes(response.data.items);
       } catch (error) {
         console.error('Error fetching recipes:', error);
         toast.error('Failed to load recipes');
@@ -9,18 +9,84 @@ export interface Recipe {
   videoUrl?: string; // Optional, nullable in Recipe.java
   preparationTime: number; // Integer in backend, defaults to 0
   cookingTime: number; // Integer in backend, defaults to 0
+  totalTime?: number; // preparationTime + cookingTime, maintained by backend
   servings: number; // Integer in backend, defaults to 1
   difficulty: 'Easy' | 'Medium' | 'Hard'; // String in backend, defaults to "Easy"
   ingredients: Ingredient[]; // List of ingredients, initialized as empty array
   steps: Step[]; // List of steps, initialized as empty array
   categories: string[]; // List of categories, initialized as empty array
   tags: string[]; // List of tags, initialized as empty array
+  authorId?: string; // Stored reference; author is the current profile from the authors collection
   author: Author; // Required in backend
   likes: number; // Integer in backend, defaults to 0
   createdAt?: string; // Set by backend (LocalDateTime serialized as string)
   updatedAt?: string; // Set by backend (LocalDateTime serialized as string)
 }
 
+// One page of GET /api/recipes, aligned with CursorPage.java
+export interface RecipePage<T = Recipe> {
+  items: T[];
+  nextCursor: string | null; // Pass back as ?cursor= to fetch the next page
+  hasMore: boolean;
+}
+
+// Card projection returned with ?view=card, aligned with RecipeSummary.java
+export interface RecipeSummary {
+  id: string;
+  title: string;
+  imageUrl?: string; // First image only
+  totalTime: number;
+  difficulty: 'Easy' | 'Medium' | 'Hard';
+  likes: number;
+  authorId?: string;
+  authorName?: string;
+  authorAvatarUrl?: string;
+  createdAt?: string;
+}
+
+// Card pushed by the live feed for a new discussion, aligned with DiscussionSummary.java
+export interface DiscussionSummary {
+  id: string;
+  title: string;
+  excerpt: string; // First 200 characters of the content
+  tags: string[];
+  authorId?: string;
+  authorName?: string;
+  authorAvatarUrl?: string;
+  commentCount: number;
+  createdAt?: string;
+}
+
+// Entry of the trending feed, aligned with TrendingItem.java; exactly one of recipe/discussion is set
+export interface TrendingItem {
+  type: 'recipe' | 'discussion';
+  score: number;
+  recipe: RecipeSummary | null;
+  discussion: DiscussionSummary | null;
+}
+
+// Response of GET /api/feed/trending, aligned with TrendingPage.java
+export interface TrendingPage {
+  category: string | null;
+  computedAt: string | null;
+  items: TrendingItem[];
+}
+
+// Entry of GET /api/recipes/{id}/similar, aligned with SimilarRecipe.java
+export interface SimilarRecipe {
+  recipe: RecipeSummary;
+  similarity: number;
+}
+
+// Entry of GET /api/autocomplete, aligned with AutocompleteSuggestion.java
+export type AutocompleteType = 'TITLE' | 'INGREDIENT' | 'TAG';
+
+export interface AutocompleteSuggestion {
+  text: string;
+  type: AutocompleteType;
+  weight: number;
+}
+
 // Interface for Ingredient, aligned with Ingredient.java
 export interface Ingredient {
   id: string; // Non-optional, assigned by backend
@@ -57,9 +123,11 @@ export interface Discussion {
   content: string;
   images: string[]; // List of image URLs
   tags: string[]; // List of tags
+  authorId?: string; // Set by backend
   author: Author; // Required
   likes: number; // Integer, defaults to 0
-  comments: Comment[]; // List of comments
+  comments: Comment[]; // Latest few comments; the full thread is paged from /api/discussions/{id}/comments
+  commentCount?: number; // Maintained by backend
   createdAt?: string; // Set by backend
   updatedAt?: string; // Set by backend
 }
@@ -67,7 +135,9 @@ export interface Discussion {
 // Interface for Comment, as provided
 export interface Comment {
   id?: string; // Optional, set by MongoDB
+  discussionId?: string; // Set by backend
   content: string;
+  authorId?: string; // Set by backend
   author: Author; // Required
   createdAt?: string; // Set by backend
 }
@@ -78,6 +148,7 @@ export interface LearningPlan {
   title: string;
   description: string;
   imageUrl?: string;
+  authorId?: string; // Set by backend
   author: Author;
   steps: LearningStep[];
   categories: string[];